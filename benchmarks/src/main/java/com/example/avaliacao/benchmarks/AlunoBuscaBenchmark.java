@@ -0,0 +1,131 @@
+package com.example.avaliacao.benchmarks;
+
+import com.example.avaliacao.AvaliacaoApplication;
+import com.example.avaliacao.dto.AlunoResumo;
+import com.example.avaliacao.dto.FiltroAlunos;
+import com.example.avaliacao.dto.Pagina;
+import com.example.avaliacao.model.Aluno;
+import com.example.avaliacao.service.AlunoService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latência de GET /alunos/search (AlunoService.buscarAlunos) com 10 mil, 100 mil e 1 milhão de alunos no H2 em memória.
+ * As buscas por email, prefixo do nome e curso + faixa de nascimento usam os índices da entidade Aluno e devem ficar
+ * praticamente constantes com o crescimento da tabela; a busca por trecho do nome ({@code nomeContem}) não tem índice
+ * que a atenda e serve de referência de uma varredura.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class AlunoBuscaBenchmark {
+
+    private static final int CURSOS = 100;
+    private static final int LOTE_INSERCAO = 10_000;
+
+    @Param({"10000", "100000", "1000000"})
+    private int alunos;
+
+    private ConfigurableApplicationContext contexto;
+    private AlunoService alunoService;
+    private long primeiroCurso;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        contexto = new SpringApplicationBuilder(AvaliacaoApplication.class)
+                .logStartupInfo(false)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-busca;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "spring.devtools.restart.enabled=false",
+                        "senha.bcrypt.custo=4",
+                        "logging.level.root=WARN")
+                .run();
+        alunoService = contexto.getBean(AlunoService.class);
+        popular(contexto.getBean(JdbcTemplate.class));
+    }
+
+    // Inserção direta em JDBC: popular um milhão de linhas pelo JPA dominaria o tempo do benchmark
+    private void popular(JdbcTemplate jdbc) {
+        for (int i = 0; i < CURSOS; i++) {
+            jdbc.update("INSERT INTO curso (nome_curso, descricao, carga_horaria, versao) VALUES (?, ?, ?, 0)",
+                    "Curso " + i, "Benchmark", 40);
+        }
+        primeiroCurso = jdbc.queryForObject("SELECT MIN(id) FROM curso", Long.class);
+
+        List<Object[]> lote = new ArrayList<>(LOTE_INSERCAO);
+        for (int i = 1; i <= alunos; i++) {
+            String nome = nome(i);
+            lote.add(new Object[]{i, nome, Aluno.normalizar(nome), email(i), nascimento(i), primeiroCurso + i % CURSOS});
+            if (lote.size() == LOTE_INSERCAO || i == alunos) {
+                jdbc.batchUpdate("INSERT INTO aluno (id, nome, nome_normalizado, email, data_nascimento, curso_id, versao) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, 0)", lote);
+                lote.clear();
+            }
+        }
+        jdbc.execute("ANALYZE");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Pagina<AlunoResumo> porEmail() {
+        return buscar(new FiltroAlunos(email(sorteado()), null, null, null, null, null));
+    }
+
+    @Benchmark
+    public Pagina<AlunoResumo> porPrefixoDoNome() {
+        return buscar(new FiltroAlunos(null, "Álvares " + sorteado(), null, null, null, null));
+    }
+
+    @Benchmark
+    public Pagina<AlunoResumo> porCursoENascimento() {
+        int i = sorteado();
+        Date data = nascimento(i);
+        return buscar(new FiltroAlunos(null, null, null, primeiroCurso + i % CURSOS, data, data));
+    }
+
+    // Referência sem índice: LIKE '%...%' percorre a tabela inteira
+    @Benchmark
+    public Pagina<AlunoResumo> porTrechoDoNome() {
+        return buscar(new FiltroAlunos(null, null, "silva " + sorteado(), null, null, null));
+    }
+
+    private Pagina<AlunoResumo> buscar(FiltroAlunos filtro) {
+        return alunoService.buscarAlunos(filtro, null, 50);
+    }
+
+    private int sorteado() {
+        return ThreadLocalRandom.current().nextInt(1, alunos + 1);
+    }
+
+    private static String nome(int i) {
+        return "Álvares " + i + " Silva " + i + " Júnior";
+    }
+
+    private static String email(int i) {
+        return "aluno" + i + "@benchmark.com";
+    }
+
+    // Cerca de 30 anos de datas distintas: com um milhão de alunos, menos de cem por dia
+    private static Date nascimento(int i) {
+        return Date.valueOf(LocalDate.of(1980, 1, 1).plusDays(i % 11_000));
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.avaliacao.benchmarks;
+
+import com.example.avaliacao.AvaliacaoApplication;
+import com.example.avaliacao.model.Aluno;
+import com.example.avaliacao.model.Curso;
+import com.example.avaliacao.repository.AlunoRepository;
+import com.example.avaliacao.repository.CursoRepository;
+import com.example.avaliacao.service.AlunoImportacaoService;
+import com.example.avaliacao.service.AlunoService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gravação de alunos no H2 em memória, com o contexto Spring completo (JPA, cache de segundo nível, sequência):
+ * um AlunoService.salvarAluno por aluno (POST /alunos) contra a importação em lote (POST /alunos/bulk).
+ * Os dois resultados estão em alunos por segundo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class AlunoPersistenciaBenchmark {
+
+    private static final int ALUNOS_POR_LOTE = 1_000;
+
+    private ConfigurableApplicationContext contexto;
+    private AlunoService alunoService;
+    private AlunoImportacaoService alunoImportacaoService;
+    private AlunoRepository alunoRepository;
+    private Curso curso;
+    private byte[] lote;
+    private final Date nascimento = Date.valueOf("2004-10-10");
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        contexto = new SpringApplicationBuilder(AvaliacaoApplication.class)
+                .logStartupInfo(false)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "spring.devtools.restart.enabled=false",
+                        "senha.bcrypt.custo=4",
+                        "logging.level.root=WARN")
+                .run();
+        alunoService = contexto.getBean(AlunoService.class);
+        alunoImportacaoService = contexto.getBean(AlunoImportacaoService.class);
+        alunoRepository = contexto.getBean(AlunoRepository.class);
+
+        Curso salvo = contexto.getBean(CursoRepository.class)
+                .save(new Curso(null, "Engenharia de Software", "Curso de graduação", 3600, new ArrayList<>()));
+        // Só o id, como chega no corpo do POST /alunos
+        curso = new Curso();
+        curso.setId(salvo.getId());
+
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < ALUNOS_POR_LOTE; i++) {
+            json.append(i == 0 ? "" : ",")
+                .append("{\"nome\":\"Aluno ").append(i).append("\",\"email\":\"aluno").append(i)
+                .append("@exemplo.com\",\"dataNascimento\":\"2004-10-10\",\"cursoId\":").append(salvo.getId()).append('}');
+        }
+        lote = json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // A tabela não cresce indefinidamente entre as iterações
+    @TearDown(Level.Iteration)
+    public void limpar() {
+        alunoRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Aluno salvarAluno() {
+        return alunoService.salvarAluno(new Aluno(null, "Ana Cristina", "anaExemplo@gmail.com", nascimento, curso));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ALUNOS_POR_LOTE)
+    public Object importarLote() {
+        return alunoImportacaoService.importarJson(new ByteArrayInputStream(lote));
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.avaliacao.benchmarks;
+
+import com.example.avaliacao.config.PasswordHashingConfig;
+import com.example.avaliacao.service.PasswordHashService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do BCrypt no login: matches puro, pelo DelegatingPasswordEncoder da aplicação ({bcrypt}...)
+ * e pelo PasswordHashService (inclui a passagem para o pool dedicado).
+ * Cada ponto de custo deve dobrar o tempo; compare com senha.bcrypt.latencia-alvo-ms.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BCryptBenchmark {
+
+    private static final String SENHA = "123456";
+
+    @Param({"10", "12"})
+    public int custo;
+
+    private BCryptPasswordEncoder bcrypt;
+    private PasswordEncoder passwordEncoder;
+    private PasswordHashService passwordHashService;
+    private String hash;
+    private String hashComPrefixo;
+
+    @Setup
+    public void setUp() {
+        bcrypt = new BCryptPasswordEncoder(custo);
+        hash = bcrypt.encode(SENHA);
+        passwordEncoder = new PasswordHashingConfig().passwordEncoder(custo, custo, 100);
+        hashComPrefixo = passwordEncoder.encode(SENHA);
+        passwordHashService = new PasswordHashService(passwordEncoder, 0, 64, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return bcrypt.matches(SENHA, hash);
+    }
+
+    @Benchmark
+    public boolean matchesDelegatingEncoder() {
+        return passwordEncoder.matches(SENHA, hashComPrefixo);
+    }
+
+    @Benchmark
+    public boolean matchesPasswordHashService() {
+        return passwordHashService.matches(SENHA, hashComPrefixo);
+    }
+}
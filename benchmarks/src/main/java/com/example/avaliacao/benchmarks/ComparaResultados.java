@@ -0,0 +1,101 @@
+package com.example.avaliacao.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compara dois resultados JSON do JMH (por exemplo, o da main e o do branch) e imprime a variação de cada benchmark.
+ * Termina com código 1 se algum benchmark piorar mais que o limite, para poder rodar no CI.
+ *
+ * <pre>
+ * ./mvnw -f benchmarks/pom.xml exec:java -Dexec.mainClass=com.example.avaliacao.benchmarks.ComparaResultados \
+ *     -Dexec.args="base.json target/jmh-result.json 10"
+ * </pre>
+ */
+public final class ComparaResultados {
+
+    private static final String ALOCACAO = "gc.alloc.rate.norm";
+    private static final double LIMITE_PADRAO = 10.0;
+
+    private ComparaResultados() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Uso: ComparaResultados <base.json> <atual.json> [limite de piora em %]");
+            System.exit(2);
+        }
+        double limite = args.length > 2 ? Double.parseDouble(args[2]) : LIMITE_PADRAO;
+        Map<String, JsonNode> base = ler(new File(args[0]));
+        Map<String, JsonNode> atual = ler(new File(args[1]));
+
+        int pioras = 0;
+        System.out.printf("%-90s %14s %14s %9s %12s%n", "Benchmark", "Base", "Atual", "Variação", "Alocação");
+        for (Map.Entry<String, JsonNode> entrada : atual.entrySet()) {
+            JsonNode anterior = base.get(entrada.getKey());
+            JsonNode resultado = entrada.getValue();
+            double scoreAtual = resultado.path("primaryMetric").path("score").asDouble();
+            String unidade = resultado.path("primaryMetric").path("scoreUnit").asText();
+            if (anterior == null) {
+                System.out.printf("%-90s %14s %14.3f %9s %12s  %s (novo)%n", entrada.getKey(), "-", scoreAtual, "-", "-", unidade);
+                continue;
+            }
+            double scoreBase = anterior.path("primaryMetric").path("score").asDouble();
+            double variacao = (scoreAtual - scoreBase) / scoreBase * 100;
+            // Em throughput, maior é melhor; nos modos de tempo (avgt, sample, ss), menor é melhor
+            double piora = "thrpt".equals(resultado.path("mode").asText()) ? -variacao : variacao;
+            boolean regrediu = piora > limite;
+            if (regrediu) {
+                pioras++;
+            }
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%% %12s  %s%s%n", entrada.getKey(), scoreBase, scoreAtual, variacao,
+                    variacaoAlocacao(anterior, resultado), unidade, regrediu ? "  << PIORA" : "");
+        }
+
+        if (pioras > 0) {
+            System.out.printf("%d benchmark(s) pioraram mais de %.1f%%.%n", pioras, limite);
+            System.exit(1);
+        }
+    }
+
+    // Chave = nome do benchmark + parâmetros, para casar o mesmo caso nos dois arquivos
+    private static Map<String, JsonNode> ler(File arquivo) throws IOException {
+        Map<String, JsonNode> resultados = new TreeMap<>();
+        for (JsonNode resultado : new ObjectMapper().readTree(arquivo)) {
+            Map<String, String> parametros = new LinkedHashMap<>();
+            Iterator<Map.Entry<String, JsonNode>> campos = resultado.path("params").fields();
+            campos.forEachRemaining(campo -> parametros.put(campo.getKey(), campo.getValue().asText()));
+            String nome = resultado.path("benchmark").asText().replace("com.example.avaliacao.benchmarks.", "");
+            resultados.put(parametros.isEmpty() ? nome : nome + " " + parametros, resultado);
+        }
+        return resultados;
+    }
+
+    private static String variacaoAlocacao(JsonNode base, JsonNode atual) {
+        JsonNode alocacaoBase = metricaSecundaria(base);
+        JsonNode alocacaoAtual = metricaSecundaria(atual);
+        if (alocacaoBase == null || alocacaoAtual == null || alocacaoBase.asDouble() == 0) {
+            return "-";
+        }
+        return String.format("%+.1f%%", (alocacaoAtual.asDouble() - alocacaoBase.asDouble()) / alocacaoBase.asDouble() * 100);
+    }
+
+    // O profiler gc grava a métrica como "·gc.alloc.rate.norm" (com o prefixo "·" desde o JMH 1.x)
+    private static JsonNode metricaSecundaria(JsonNode resultado) {
+        Iterator<Map.Entry<String, JsonNode>> metricas = resultado.path("secondaryMetrics").fields();
+        while (metricas.hasNext()) {
+            Map.Entry<String, JsonNode> metrica = metricas.next();
+            if (metrica.getKey().endsWith(ALOCACAO)) {
+                return metrica.getValue().path("score");
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.avaliacao.benchmarks;
+
+import com.example.avaliacao.dto.AlunoResumo;
+import com.example.avaliacao.dto.CursoResumo;
+import com.example.avaliacao.model.Aluno;
+import com.example.avaliacao.model.Curso;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização JSON de um curso com N alunos: a entidade JPA (como GET /cursos/{id} devolve)
+ * contra a projeção CursoResumo com AlunoResumo (GET /cursos?expand=alunos).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CursoSerializacaoBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int alunos;
+
+    private ObjectMapper objectMapper;
+    private Curso curso;
+    private CursoResumo cursoResumo;
+
+    @Setup
+    public void setUp() {
+        // Mesmos módulos que o Spring Boot registra (java.time, parameter names...)
+        objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+        curso = new Curso(1L, "Engenharia de Software", "Curso de graduação", 3600, new ArrayList<>());
+        List<AlunoResumo> resumos = new ArrayList<>(alunos);
+        Date nascimento = Date.valueOf("2004-10-10");
+        for (long i = 1; i <= alunos; i++) {
+            Aluno aluno = new Aluno(i, "Aluno " + i, "aluno" + i + "@exemplo.com", nascimento, curso);
+            curso.getAlunos().add(aluno);
+            resumos.add(new AlunoResumo(i, aluno.getNome(), aluno.getEmail(), nascimento, curso.getId()));
+        }
+        cursoResumo = new CursoResumo(curso.getId(), curso.getNomeCurso(), curso.getDescricao(), curso.getCargaHoraria())
+                .comAlunos(resumos);
+    }
+
+    @Benchmark
+    public byte[] serializarEntidade() throws Exception {
+        return objectMapper.writeValueAsBytes(curso);
+    }
+
+    @Benchmark
+    public byte[] serializarResumo() throws Exception {
+        return objectMapper.writeValueAsBytes(cursoResumo);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.avaliacao.benchmarks;
+
+import com.example.avaliacao.dto.AlunoResumo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização de uma página de alunos (GET /alunos?size=N) em JSON, CBOR e Smile.
+ * O tempo vem da medição do JMH; o tamanho do payload de cada formato é impresso no início de cada trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormatoSerializacaoBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String formato;
+
+    @Param({"50", "500"})
+    public int alunos;
+
+    private ObjectWriter writer;
+    private List<AlunoResumo> pagina;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Mesmos módulos que o Spring Boot registra (java.time, parameter names...)
+        ObjectMapper mapper = switch (formato) {
+            case "cbor" -> CBORMapper.builder().findAndAddModules().build();
+            case "smile" -> SmileMapper.builder().findAndAddModules().build();
+            default -> JsonMapper.builder().findAndAddModules().build();
+        };
+        writer = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, AlunoResumo.class));
+
+        pagina = new ArrayList<>(alunos);
+        Date nascimento = Date.valueOf("2004-10-10");
+        for (long i = 1; i <= alunos; i++) {
+            pagina.add(new AlunoResumo(i, "Aluno " + i, "aluno" + i + "@exemplo.com", nascimento, 1L));
+        }
+        System.out.printf("%n# %s, %d alunos: %d bytes%n", formato, alunos, writer.writeValueAsBytes(pagina).length);
+    }
+
+    @Benchmark
+    public byte[] serializar() throws Exception {
+        return writer.writeValueAsBytes(pagina);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.avaliacao.benchmarks;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.example.avaliacao.service.JwtService;
+import com.example.avaliacao.service.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emissão e validação de tokens: implementação original (Algorithm e JWTVerifier criados a cada
+ * chamada) contra o JwtService atual. Rode com "-prof gc" para ver bytes alocados por operação
+ * (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SEGREDO = "umaChaveSecretaMuitoLongaEComplexaParaAssinarTokensJWT";
+    private static final long EXPIRACAO = 3_600_000;
+
+    private JwtService jwtService;
+    private JwtService jwtServiceSemCache;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SEGREDO, EXPIRACAO, new VerifiedTokenCache(10_000, new SimpleMeterRegistry()), new SimpleMeterRegistry());
+        // Cache de tamanho zero: mede só a verificação com o JWTVerifier pré-construído
+        jwtServiceSemCache = new JwtService(SEGREDO, EXPIRACAO, new VerifiedTokenCache(0, new SimpleMeterRegistry()), new SimpleMeterRegistry());
+        token = jwtService.generateToken("admin", "ADMIN");
+    }
+
+    @Benchmark
+    public String gerarTokenAlgoritmoPorChamada() {
+        return JWT.create()
+                .withSubject("admin")
+                .withClaim("role", "ADMIN")
+                .withIssuedAt(new Date())
+                .withExpiresAt(new Date(System.currentTimeMillis() + EXPIRACAO))
+                .sign(Algorithm.HMAC256(SEGREDO));
+    }
+
+    @Benchmark
+    public String gerarToken() {
+        return jwtService.generateToken("admin", "ADMIN");
+    }
+
+    @Benchmark
+    public DecodedJWT validarTokenVerificadorPorChamada() {
+        return JWT.require(Algorithm.HMAC256(SEGREDO)).build().verify(token);
+    }
+
+    @Benchmark
+    public boolean validarTokenSemCache() {
+        return jwtServiceSemCache.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean validarTokenComCache() {
+        return jwtService.validateToken(token);
+    }
+
+    @Benchmark
+    public Map<String, Object> extrairClaimsComStream() {
+        return JWT.decode(token).getClaims().entrySet().stream()
+                .collect(HashMap::new, (map, entry) -> map.put(entry.getKey(), entry.getValue().asString()), HashMap::putAll);
+    }
+
+    @Benchmark
+    public Map<String, Object> extrairClaims() {
+        return jwtService.getAllClaimsFromToken(token);
+    }
+}
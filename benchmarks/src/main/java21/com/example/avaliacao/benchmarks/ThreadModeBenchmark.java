@@ -0,0 +1,85 @@
+package com.example.avaliacao.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão de requisições bloqueantes no modo padrão (pool de 200 threads de plataforma, como o Tomcat)
+ * contra uma virtual thread por requisição (perfil virtual-threads).
+ * Cada requisição simula o caminho típico de um controller: espera de I/O fora do banco (rede, leitura do corpo)
+ * e uma consulta que precisa de uma das {@code conexoes} do pool (Semaphore no lugar do Hikari).
+ * Compilado só com o perfil Maven virtual-threads (JDK 21+).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ThreadModeBenchmark {
+
+    private static final int REQUISICOES = 2_000;
+    private static final int THREADS_TOMCAT = 200;
+
+    @Param({"PLATAFORMA", "VIRTUAL"})
+    public String modo;
+
+    // Conexões disponíveis no pool (spring.datasource.hikari.maximum-pool-size)
+    @Param({"20", "100"})
+    public int conexoes;
+
+    @Param({"10"})
+    public long esperaForaDoBancoMs;
+
+    @Param({"2"})
+    public long consultaMs;
+
+    private ExecutorService executor;
+    private Semaphore pool;
+
+    @Setup
+    public void setUp() {
+        executor = "VIRTUAL".equals(modo)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(THREADS_TOMCAT);
+        pool = new Semaphore(conexoes, true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUISICOES)
+    public void atenderRequisicoes() throws Exception {
+        List<Future<?>> respostas = new ArrayList<>(REQUISICOES);
+        for (int i = 0; i < REQUISICOES; i++) {
+            respostas.add(executor.submit(this::requisicao));
+        }
+        for (Future<?> resposta : respostas) {
+            resposta.get();
+        }
+    }
+
+    private Void requisicao() throws InterruptedException {
+        Thread.sleep(esperaForaDoBancoMs);
+        // Espera limitada por uma conexão, como o connection-timeout do Hikari
+        if (!pool.tryAcquire(2, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Timeout aguardando conexão");
+        }
+        try {
+            Thread.sleep(consultaMs);
+        } finally {
+            pool.release();
+        }
+        return null;
+    }
+}
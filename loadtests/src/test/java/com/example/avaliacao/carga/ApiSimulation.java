@@ -0,0 +1,168 @@
+package com.example.avaliacao.carga;
+
+import io.gatling.javaapi.core.Assertion;
+import io.gatling.javaapi.core.ChainBuilder;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.*;
+
+/**
+ * Carga realista contra a API em execução:
+ * <ul>
+ *   <li><b>crud</b>: login como admin e, em loop, 70% leituras (listagens paginadas, busca por id) e 30% escritas
+ *   (cria curso, cria/atualiza/exclui aluno);</li>
+ *   <li><b>validacao</b>: rajadas de POST /auth/validate com o mesmo token;</li>
+ *   <li><b>listagens</b>: páginas de 500 itens, cursos com alunos e a listagem completa em NDJSON.</li>
+ * </ul>
+ * Antes da carga, um usuário popula o banco pela importação em lote. Cada requisição tem um nome fixo e pertence
+ * a um grupo de SLO (p99 e p99.9 em ms, via propriedades slo.*); a simulação falha se algum for violado.
+ */
+public class ApiSimulation extends Simulation {
+
+    private static final String BASE_URL = System.getProperty("carga.baseUrl", "http://localhost:8080");
+    private static final int USUARIOS = Integer.getInteger("carga.usuarios", 50);
+    private static final Duration DURACAO = Duration.ofSeconds(Integer.getInteger("carga.duracaoSegundos", 120));
+    private static final Duration RAMPA = Duration.ofSeconds(Integer.getInteger("carga.rampaSegundos", 20));
+    private static final int ALUNOS_INICIAIS = Integer.getInteger("carga.alunosIniciais", 5000);
+    private static final int ALUNOS_POR_LOTE = 1000;
+
+    // Grupo de SLO -> nomes das requisições
+    private static final Map<String, List<String>> GRUPOS = Map.of(
+            "login", List.of("login"),
+            "validacao", List.of("validar token"),
+            "leitura", List.of("listar cursos", "listar alunos", "buscar aluno", "buscar curso"),
+            "escrita", List.of("criar curso", "criar aluno", "atualizar aluno", "excluir aluno"),
+            "listagem", List.of("listar alunos (500)", "listar cursos com alunos (500)", "stream alunos (ndjson)"));
+
+    private final HttpProtocolBuilder protocolo = http
+            .baseUrl(BASE_URL)
+            .acceptHeader("application/json")
+            // Sem o cache HTTP do Gatling: cada requisição chega ao servidor e é medida (nada de 304 ou max-age)
+            .disableCaching()
+            .shareConnections();
+
+    private static ChainBuilder login(String username, String password) {
+        return exec(http("login").post("/auth/login")
+                .queryParam("username", username)
+                .queryParam("password", password)
+                .check(status().is(200), bodyString().saveAs("token")));
+    }
+
+    private static final String AUTORIZACAO = "Bearer #{token}";
+
+    private final ChainBuilder leituras = exec(
+            http("listar cursos").get("/cursos").header("Authorization", AUTORIZACAO)
+                    .check(status().is(200), jsonPath("$[0].id").optional().saveAs("cursoLido")),
+            http("listar alunos").get("/alunos").queryParam("size", "50").header("Authorization", AUTORIZACAO)
+                    .check(status().is(200), jsonPath("$[*].id").findRandom().optional().saveAs("alunoLido")))
+            .doIf(session -> session.contains("alunoLido")).then(
+                    exec(http("buscar aluno").get("/alunos/#{alunoLido}").header("Authorization", AUTORIZACAO)
+                            .check(status().in(200, 404))))
+            .doIf(session -> session.contains("cursoLido")).then(
+                    exec(http("buscar curso").get("/cursos/#{cursoLido}").header("Authorization", AUTORIZACAO)
+                            .check(status().in(200, 404))));
+
+    private final ChainBuilder escritas = exec(
+            http("criar curso").post("/cursos").header("Authorization", AUTORIZACAO).asJson()
+                    .body(StringBody("""
+                            {"nomeCurso": "Curso carga #{randomUuid()}", "descricao": "Gatling", "cargaHoraria": 40}
+                            """))
+                    .check(status().is(200), jsonPath("$.id").saveAs("cursoId")),
+            http("criar aluno").post("/alunos").header("Authorization", AUTORIZACAO).asJson()
+                    .body(StringBody("""
+                            {"nome": "Aluno carga", "email": "#{randomUuid()}@carga.com", "dataNascimento": "2004-10-10",
+                             "curso": {"id": #{cursoId}}}
+                            """))
+                    .check(status().is(200), jsonPath("$.id").saveAs("alunoId")),
+            http("atualizar aluno").put("/alunos/#{alunoId}").header("Authorization", AUTORIZACAO).asJson()
+                    .body(StringBody("""
+                            {"nome": "Aluno carga atualizado", "email": "#{randomUuid()}@carga.com",
+                             "dataNascimento": "2004-10-10", "curso": {"id": #{cursoId}}}
+                            """))
+                    .check(status().is(200)),
+            http("excluir aluno").delete("/alunos/#{alunoId}").header("Authorization", AUTORIZACAO)
+                    .check(status().is(200)));
+
+    // Popula o banco antes da carga, pela importação em lote (não entra nos SLOs)
+    private final ScenarioBuilder cargaInicial = scenario("carga inicial")
+            .exec(login("admin", "123456"))
+            .exec(http("carga inicial - curso").post("/cursos").header("Authorization", AUTORIZACAO).asJson()
+                    .body(StringBody("{\"nomeCurso\": \"Curso base\", \"descricao\": \"Gatling\", \"cargaHoraria\": 40}"))
+                    .check(status().is(200), jsonPath("$.id").saveAs("cursoId")))
+            .repeat(Math.max(1, ALUNOS_INICIAIS / ALUNOS_POR_LOTE)).on(
+                    exec(http("carga inicial - alunos").post("/alunos/bulk").header("Authorization", AUTORIZACAO).asJson()
+                            .body(StringBody(session -> loteDeAlunos(session.getString("cursoId"))))
+                            .check(status().is(200))));
+
+    private final ScenarioBuilder crud = scenario("crud")
+            .exec(login("admin", "123456"))
+            .during(DURACAO).on(
+                    exec(session -> session.set("sorteio", ThreadLocalRandom.current().nextInt(100)))
+                            .doIfOrElse(session -> session.getInt("sorteio") < 70).then(leituras).orElse(escritas)
+                            .pause(Duration.ofMillis(100), Duration.ofMillis(500)));
+
+    private final ScenarioBuilder validacao = scenario("validacao")
+            .exec(login("user", "password"))
+            .during(DURACAO).on(
+                    repeat(20).on(exec(http("validar token").post("/auth/validate")
+                                    .queryParam("token", "#{token}")
+                                    .check(status().is(200))))
+                            .pause(Duration.ofSeconds(1)));
+
+    private final ScenarioBuilder listagens = scenario("listagens")
+            .exec(login("user", "password"))
+            .during(DURACAO).on(
+                    exec(
+                            http("listar alunos (500)").get("/alunos").queryParam("size", "500")
+                                    .header("Authorization", AUTORIZACAO).check(status().is(200)),
+                            http("listar cursos com alunos (500)").get("/cursos")
+                                    .queryParam("size", "500").queryParam("expand", "alunos")
+                                    .header("Authorization", AUTORIZACAO).check(status().is(200)),
+                            http("stream alunos (ndjson)").get("/alunos")
+                                    .header("Authorization", AUTORIZACAO).header("Accept", "application/x-ndjson")
+                                    .check(status().is(200)))
+                            .pause(Duration.ofSeconds(1), Duration.ofSeconds(2)));
+
+    {
+        setUp(cargaInicial.injectOpen(atOnceUsers(1)).andThen(
+                crud.injectOpen(rampUsers(USUARIOS).during(RAMPA)),
+                validacao.injectOpen(rampUsers(Math.max(1, USUARIOS / 5)).during(RAMPA)),
+                listagens.injectOpen(rampUsers(Math.max(1, USUARIOS / 10)).during(RAMPA))))
+                .protocols(protocolo)
+                .assertions(assertions());
+    }
+
+    private static List<Assertion> assertions() {
+        List<Assertion> assertions = new ArrayList<>();
+        assertions.add(global().failedRequests().percent().lte(Double.parseDouble(System.getProperty("slo.erros.percentual", "1"))));
+        GRUPOS.forEach((grupo, requisicoes) -> {
+            int p99 = Integer.getInteger("slo." + grupo + ".p99", Integer.MAX_VALUE);
+            int p999 = Integer.getInteger("slo." + grupo + ".p999", Integer.MAX_VALUE);
+            for (String requisicao : requisicoes) {
+                assertions.add(details(requisicao).responseTime().percentile(99.0).lte(p99));
+                assertions.add(details(requisicao).responseTime().percentile(99.9).lte(p999));
+            }
+        });
+        return assertions;
+    }
+
+    private static String loteDeAlunos(String cursoId) {
+        StringBuilder json = new StringBuilder(ALUNOS_POR_LOTE * 100).append('[');
+        for (int i = 0; i < ALUNOS_POR_LOTE; i++) {
+            json.append(i == 0 ? "" : ",")
+                .append("{\"nome\":\"Aluno ").append(i)
+                .append("\",\"email\":\"aluno").append(ThreadLocalRandom.current().nextLong(Long.MAX_VALUE))
+                .append("@carga.com\",\"dataNascimento\":\"2004-10-10\",\"cursoId\":").append(cursoId).append('}');
+        }
+        return json.append(']').toString();
+    }
+}
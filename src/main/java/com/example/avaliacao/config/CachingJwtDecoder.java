@@ -0,0 +1,26 @@
+package com.example.avaliacao.config;
+
+import com.example.avaliacao.service.VerifiedTokenCache;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * JwtDecoder que consulta o {@link VerifiedTokenCache} antes de delegar a verificação completa.
+ * Só tokens verificados com sucesso entram no cache.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    public CachingJwtDecoder(JwtDecoder delegate, VerifiedTokenCache verifiedTokenCache) {
+        this.delegate = delegate;
+        this.verifiedTokenCache = verifiedTokenCache;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        return verifiedTokenCache.obter(token, delegate::decode);
+    }
+}
@@ -0,0 +1,431 @@
+package com.example.avaliacao.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compressão gzip das respostas, com limite mínimo de tamanho e lista de tipos comprimíveis.
+ * <p>
+ * Os primeiros {@code compressao.tamanho-minimo-bytes} do corpo ficam em um buffer desse tamanho: se a resposta
+ * terminar antes, vai sem compressão; se passar do limite, o restante segue comprimido direto para a conexão.
+ * Respostas em streaming (NDJSON, CBOR Sequence) não são montadas inteiras em memória.
+ * <p>
+ * Publica a razão de compressão, os bytes antes/depois e o tempo de CPU gasto comprimindo, por tipo.
+ * A ETag não muda com a compressão, como na compressão embutida do Tomcat.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class CompressaoRespostaFilter extends OncePerRequestFilter {
+
+    private static final String ATRIBUTO_RESPOSTA = CompressaoRespostaFilter.class.getName() + ".resposta";
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final boolean habilitada;
+    private final int tamanhoMinimo;
+    private final int nivel;
+    private final List<MediaType> tipos;
+    private final MeterRegistry meterRegistry;
+
+    private final Counter comprimidas;
+    private final Counter pequenas;
+    private final Counter naoComprimiveis;
+
+    public CompressaoRespostaFilter(@Value("${compressao.habilitada:true}") boolean habilitada,
+                                    @Value("${compressao.tamanho-minimo-bytes:2048}") int tamanhoMinimo,
+                                    @Value("${compressao.nivel:6}") int nivel,
+                                    @Value("${compressao.tipos:application/json,application/*+json,application/x-ndjson,text/*}") List<String> tipos,
+                                    MeterRegistry meterRegistry) {
+        this.habilitada = habilitada;
+        this.tamanhoMinimo = Math.max(1, tamanhoMinimo);
+        this.nivel = nivel;
+        this.tipos = tipos.stream().map(String::trim).filter(tipo -> !tipo.isEmpty()).map(MediaType::parseMediaType).toList();
+        this.meterRegistry = meterRegistry;
+        this.comprimidas = contadorDeRespostas("comprimida");
+        this.pequenas = contadorDeRespostas("abaixo-do-limite");
+        this.naoComprimiveis = contadorDeRespostas("nao-comprimivel");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !habilitada || "HEAD".equals(request.getMethod()) || !aceitaGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    // O streaming termina em um dispatch assíncrono: é nele que o gzip precisa ser finalizado
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RespostaComprimida resposta = (RespostaComprimida) request.getAttribute(ATRIBUTO_RESPOSTA);
+        if (resposta == null) {
+            resposta = new RespostaComprimida(response);
+            request.setAttribute(ATRIBUTO_RESPOSTA, resposta);
+        }
+        try {
+            filterChain.doFilter(request, resposta);
+        } finally {
+            if (!request.isAsyncStarted()) {
+                resposta.finalizar();
+            }
+        }
+    }
+
+    static boolean aceitaGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String item : acceptEncoding.split(",")) {
+            String[] partes = item.split(";");
+            String codificacao = partes[0].trim().toLowerCase(Locale.ROOT);
+            if (codificacao.equals("gzip") || codificacao.equals("*")) {
+                return partes.length == 1 || !partes[1].trim().matches("q\\s*=\\s*0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    // Regra (entre as configuradas) que inclui o tipo da resposta, ou null se não for comprimível
+    private MediaType regraPara(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        try {
+            MediaType tipo = MediaType.parseMediaType(contentType);
+            for (MediaType regra : tipos) {
+                if (regra.includes(tipo)) {
+                    return regra;
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            // tipo ilegível: vai sem compressão
+        }
+        return null;
+    }
+
+    private Counter contadorDeRespostas(String resultado) {
+        return Counter.builder("http.compressao.respostas")
+                .description("Respostas que passaram pelo filtro de compressão, por resultado")
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+
+    private void registrar(MediaType regra, long original, long comprimido, long cpuNanos) {
+        String tipo = regra.toString();
+        comprimidas.increment();
+        DistributionSummary.builder("http.compressao.razao")
+                .description("Tamanho comprimido / tamanho original de cada resposta")
+                .tag("tipo", tipo)
+                .register(meterRegistry)
+                .record(original == 0 ? 1 : (double) comprimido / original);
+        Timer.builder("http.compressao.cpu")
+                .description("Tempo de CPU gasto comprimindo cada resposta")
+                .tag("tipo", tipo)
+                .register(meterRegistry)
+                .record(cpuNanos, TimeUnit.NANOSECONDS);
+        Counter.builder("http.compressao.bytes").baseUnit("bytes").tag("tipo", tipo).tag("estado", "original")
+                .register(meterRegistry).increment(original);
+        Counter.builder("http.compressao.bytes").baseUnit("bytes").tag("tipo", tipo).tag("estado", "comprimido")
+                .register(meterRegistry).increment(comprimido);
+    }
+
+    // Tempo de CPU da thread atual (inclui só o trabalho do deflate, não a espera pela rede); relógio se a JVM não medir CPU
+    private static long cpu() {
+        return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+
+    private enum Estado { DECIDINDO, COMPRIMINDO, DIRETO }
+
+    private final class RespostaComprimida extends HttpServletResponseWrapper {
+
+        private final HttpServletResponse original;
+        private final Saida saida = new Saida();
+        private final byte[] buffer = new byte[tamanhoMinimo];
+        private int usados;
+        private Estado estado = Estado.DECIDINDO;
+        private boolean finalizada;
+
+        private long tamanhoDeclarado = -1;
+        private PrintWriter writer;
+        private boolean streamUsado;
+
+        private MediaType regra;
+        private GZIPOutputStream gzip;
+        private ContadorDeBytes comprimido;
+        private long bytesOriginais;
+        private long cpuNanos;
+
+        RespostaComprimida(HttpServletResponse original) {
+            super(original);
+            this.original = original;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (writer != null) {
+                throw new IllegalStateException("getWriter() já foi chamado nesta resposta");
+            }
+            streamUsado = true;
+            return saida;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                if (streamUsado) {
+                    throw new IllegalStateException("getOutputStream() já foi chamado nesta resposta");
+                }
+                writer = new PrintWriter(new OutputStreamWriter(saida, getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        // Content-Length só vale para o corpo sem compressão: fica guardado até a decisão
+        @Override
+        public void setContentLength(int tamanho) {
+            setContentLengthLong(tamanho);
+        }
+
+        @Override
+        public void setContentLengthLong(long tamanho) {
+            switch (estado) {
+                case DECIDINDO -> tamanhoDeclarado = tamanho;
+                case DIRETO -> original.setContentLengthLong(tamanho);
+                case COMPRIMINDO -> { }
+            }
+        }
+
+        @Override
+        public void setHeader(String nome, String valor) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(nome)) {
+                setContentLengthLong(valor == null ? -1 : Long.parseLong(valor));
+            } else {
+                super.setHeader(nome, valor);
+            }
+        }
+
+        @Override
+        public void addHeader(String nome, String valor) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(nome)) {
+                setContentLengthLong(valor == null ? -1 : Long.parseLong(valor));
+            } else {
+                super.addHeader(nome, valor);
+            }
+        }
+
+        @Override
+        public void setIntHeader(String nome, int valor) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(nome)) {
+                setContentLengthLong(valor);
+            } else {
+                super.setIntHeader(nome, valor);
+            }
+        }
+
+        // Enquanto decide, não faz o commit da resposta: ainda pode ser preciso acrescentar Content-Encoding
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            saida.flush();
+            if (estado != Estado.DECIDINDO) {
+                original.flushBuffer();
+            }
+        }
+
+        @Override
+        public void resetBuffer() {
+            if (estado == Estado.DECIDINDO) {
+                usados = 0;
+            }
+            super.resetBuffer();
+        }
+
+        @Override
+        public void reset() {
+            if (estado == Estado.DECIDINDO) {
+                usados = 0;
+                tamanhoDeclarado = -1;
+            }
+            super.reset();
+        }
+
+        void finalizar() throws IOException {
+            if (finalizada) {
+                return;
+            }
+            finalizada = true;
+            if (writer != null) {
+                writer.flush();
+            }
+            if (estado == Estado.DECIDINDO) {
+                decidir(false);
+            }
+            if (estado == Estado.COMPRIMINDO) {
+                long inicio = cpu();
+                gzip.finish();
+                cpuNanos += cpu() - inicio;
+                registrar(regra, bytesOriginais, comprimido.total, cpuNanos);
+            }
+        }
+
+        private void escrever(byte[] bytes, int inicio, int tamanho) throws IOException {
+            if (estado == Estado.DECIDINDO) {
+                if (tamanhoDeclarado >= 0 && tamanhoDeclarado < tamanhoMinimo) {
+                    decidir(false);
+                } else if (usados + tamanho <= buffer.length) {
+                    System.arraycopy(bytes, inicio, buffer, usados, tamanho);
+                    usados += tamanho;
+                    return;
+                } else {
+                    decidir(true);
+                }
+            }
+            if (estado == Estado.COMPRIMINDO) {
+                long antes = cpu();
+                gzip.write(bytes, inicio, tamanho);
+                cpuNanos += cpu() - antes;
+                bytesOriginais += tamanho;
+            } else {
+                original.getOutputStream().write(bytes, inicio, tamanho);
+            }
+        }
+
+        private void decidir(boolean acimaDoLimite) throws IOException {
+            int status = original.getStatus();
+            regra = regraPara(original.getContentType());
+            boolean comprimir = acimaDoLimite && regra != null && status >= 200 && status != 204 && status != 304
+                    && original.getHeader(HttpHeaders.CONTENT_ENCODING) == null;
+            if (comprimir) {
+                original.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                original.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                comprimido = new ContadorDeBytes(original.getOutputStream());
+                // Buffer do deflate do mesmo tamanho do limite; sem sync flush, para não quebrar os blocos a cada item do streaming
+                gzip = new GZIPOutputStream(comprimido, tamanhoMinimo) {
+                    {
+                        def.setLevel(nivel);
+                    }
+                };
+                estado = Estado.COMPRIMINDO;
+            } else {
+                (acimaDoLimite ? naoComprimiveis : pequenas).increment();
+                estado = Estado.DIRETO;
+                if (tamanhoDeclarado >= 0) {
+                    original.setContentLengthLong(tamanhoDeclarado);
+                }
+            }
+            int pendentes = usados;
+            usados = 0;
+            if (pendentes > 0) {
+                escrever(buffer, 0, pendentes);
+            }
+        }
+
+        private final class Saida extends ServletOutputStream {
+
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[] {(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] bytes, int inicio, int tamanho) throws IOException {
+                if (tamanho > 0) {
+                    escrever(bytes, inicio, tamanho);
+                }
+            }
+
+            @Override
+            public void flush() throws IOException {
+                switch (estado) {
+                    case DECIDINDO -> { }
+                    case COMPRIMINDO -> gzip.flush();
+                    case DIRETO -> original.getOutputStream().flush();
+                }
+            }
+
+            // Quem encerra a conexão é o container; fechar só conclui o corpo
+            @Override
+            public void close() throws IOException {
+                finalizar();
+            }
+
+            @Override
+            public boolean isReady() {
+                return estado == Estado.DECIDINDO || saidaOriginalPronta();
+            }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {
+                try {
+                    original.getOutputStream().setWriteListener(listener);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+
+        private boolean saidaOriginalPronta() {
+            try {
+                return original.getOutputStream().isReady();
+            } catch (IOException e) {
+                return false;
+            }
+        }
+    }
+
+    private static final class ContadorDeBytes extends FilterOutputStream {
+
+        private long total;
+
+        ContadorDeBytes(OutputStream destino) {
+            super(destino);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            total++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int inicio, int tamanho) throws IOException {
+            out.write(bytes, inicio, tamanho);
+            total += tamanho;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.avaliacao.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Formatos binários (CBOR e Smile) negociados pelo cabeçalho Accept, além do JSON.
+ * Os conversores usam o builder do Spring Boot, então seguem a mesma configuração do Jackson do JSON
+ * (módulos, formato de datas, spring.jackson.*); o JSON continua sendo o padrão para Accept genérico.
+ */
+@Configuration
+public class FormatosBinariosConfig {
+
+    // O builder do Boot é um bean prototype: cada injeção recebe uma instância nova, que pode trocar a factory
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.avaliacao.config;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Acrescenta ao http.server.requests a tag {@code handler} com o método do controller que atendeu a requisição
+ * (ex.: AlunoController.listarAlunos). Assim GET /alunos em JSON e em NDJSON, que têm a mesma uri, viram séries separadas.
+ */
+@Component
+public class HandlerMethodObservationConvention extends DefaultServerRequestObservationConvention {
+
+    private static final String TAG = "handler";
+    private static final KeyValue SEM_HANDLER = KeyValue.of(TAG, "none");
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and(handler(context));
+    }
+
+    private static KeyValue handler(ServerRequestObservationContext context) {
+        if (context.getCarrier() != null
+                && context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod metodo) {
+            return KeyValue.of(TAG, metodo.getBeanType().getSimpleName() + "." + metodo.getMethod().getName());
+        }
+        return SEM_HANDLER;
+    }
+}
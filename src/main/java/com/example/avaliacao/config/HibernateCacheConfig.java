@@ -0,0 +1,58 @@
+package com.example.avaliacao.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Regiões do cache de segundo nível do Hibernate, em Caffeine (via JCache).
+ * As regiões são criadas aqui, com tamanho e TTL vindos do application.yml, e o CacheManager é entregue ao Hibernate
+ * pronto; o Hibernate o fecha junto com a SessionFactory.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String REGIAO_CURSOS = "cursos";
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(
+            @Value("${cache-segundo-nivel.cursos.tamanho-maximo:10000}") long tamanhoCursos,
+            @Value("${cache-segundo-nivel.cursos.ttl-ms:600000}") long ttlCursosMs,
+            @Value("${cache-segundo-nivel.consultas.tamanho-maximo:1000}") long tamanhoConsultas,
+            @Value("${cache-segundo-nivel.consultas.ttl-ms:60000}") long ttlConsultasMs) {
+        // Um CacheManager por contexto do Spring (URI única), para que fechar um contexto não afete outro na mesma JVM
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("avaliacao:hibernate:" + UUID.randomUUID()), getClass().getClassLoader());
+
+        criarRegiao(cacheManager, REGIAO_CURSOS, tamanhoCursos, ttlCursosMs);
+        criarRegiao(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, tamanhoConsultas, ttlConsultasMs);
+        // Os timestamps das tabelas é que invalidam o cache de consultas: não podem ter limite nem expirar
+        criarRegiao(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, 0, 0);
+
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+    }
+
+    private static void criarRegiao(CacheManager cacheManager, String nome, long tamanhoMaximo, long ttlMs) {
+        CaffeineConfiguration<Object, Object> configuracao = new CaffeineConfiguration<>();
+        if (tamanhoMaximo > 0) {
+            configuracao.setMaximumSize(OptionalLong.of(tamanhoMaximo));
+        }
+        if (ttlMs > 0) {
+            configuracao.setExpireAfterWrite(OptionalLong.of(TimeUnit.MILLISECONDS.toNanos(ttlMs)));
+        }
+        configuracao.setStatisticsEnabled(true);
+        cacheManager.createCache(nome, configuracao);
+    }
+}
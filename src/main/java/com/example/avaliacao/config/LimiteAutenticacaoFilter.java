@@ -0,0 +1,146 @@
+package com.example.avaliacao.config;
+
+import com.example.avaliacao.service.LimitadorDeTaxa;
+import com.example.avaliacao.service.PasswordHashService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admissão de POST /auth/login e POST /auth/validate, antes do Spring Security e de qualquer BCrypt:
+ * <ul>
+ *   <li>limite de taxa (token bucket) por IP em ambos e por username no login: 429 com Retry-After;</li>
+ *   <li>descarte de carga no login: com a fila do pool de hash cheia, 503 na hora, sem consultar o usuário.</li>
+ * </ul>
+ * Uma rajada de autenticação é barrada aqui e não chega a disputar CPU com /alunos e /cursos.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class LimiteAutenticacaoFilter extends OncePerRequestFilter {
+
+    private static final String LOGIN = "/auth/login";
+    private static final String VALIDACAO = "/auth/validate";
+
+    private final boolean habilitado;
+    private final LimitadorDeTaxa loginPorIp;
+    private final LimitadorDeTaxa loginPorUsuario;
+    private final LimitadorDeTaxa validacaoPorIp;
+    private final PasswordHashService passwordHashService;
+    private final MeterRegistry meterRegistry;
+
+    public LimiteAutenticacaoFilter(@Value("${autenticacao.limite.habilitado:true}") boolean habilitado,
+                                    @Value("${autenticacao.limite.login-por-ip.capacidade:20}") int loginIpCapacidade,
+                                    @Value("${autenticacao.limite.login-por-ip.por-segundo:1}") double loginIpPorSegundo,
+                                    @Value("${autenticacao.limite.login-por-usuario.capacidade:10}") int loginUsuarioCapacidade,
+                                    @Value("${autenticacao.limite.login-por-usuario.por-segundo:0.2}") double loginUsuarioPorSegundo,
+                                    @Value("${autenticacao.limite.validacao-por-ip.capacidade:200}") int validacaoIpCapacidade,
+                                    @Value("${autenticacao.limite.validacao-por-ip.por-segundo:100}") double validacaoIpPorSegundo,
+                                    @Value("${autenticacao.limite.maximo-de-chaves:100000}") long maximoDeChaves,
+                                    PasswordHashService passwordHashService,
+                                    MeterRegistry meterRegistry) {
+        this.habilitado = habilitado;
+        this.loginPorIp = new LimitadorDeTaxa(loginIpCapacidade, loginIpPorSegundo, maximoDeChaves);
+        this.loginPorUsuario = new LimitadorDeTaxa(loginUsuarioCapacidade, loginUsuarioPorSegundo, maximoDeChaves);
+        this.validacaoPorIp = new LimitadorDeTaxa(validacaoIpCapacidade, validacaoIpPorSegundo, maximoDeChaves);
+        this.passwordHashService = passwordHashService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String caminho = caminho(request);
+        return !habilitado || !"POST".equals(request.getMethod())
+                || !(LOGIN.equals(caminho) || VALIDACAO.equals(caminho));
+    }
+
+    // O caminho já decodificado e normalizado pelo container, o mesmo que o Spring MVC e o Security usam: com o
+    // getRequestURI cru, POST /auth/%6Cogin escaparia dos limites e chegaria ao BCrypt
+    private static String caminho(HttpServletRequest request) {
+        String pathInfo = request.getPathInfo();
+        return pathInfo == null ? request.getServletPath() : request.getServletPath() + pathInfo;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String caminho = caminho(request);
+        // Com server.forward-headers-strategy configurado, o remoteAddr já é o IP do cliente atrás do proxy
+        String ip = request.getRemoteAddr();
+
+        if (VALIDACAO.equals(caminho)) {
+            long espera = validacaoPorIp.tentar(ip);
+            if (espera > 0) {
+                rejeitar(response, "validate", "limite-ip", HttpStatus.TOO_MANY_REQUESTS, espera,
+                        "Muitas validações a partir deste endereço. Tente novamente em instantes.");
+                return;
+            }
+            contar("validate", "admitida");
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long espera = loginPorIp.tentar(ip);
+        if (espera > 0) {
+            rejeitar(response, "login", "limite-ip", HttpStatus.TOO_MANY_REQUESTS, espera,
+                    "Muitas tentativas de login a partir deste endereço. Tente novamente em instantes.");
+            return;
+        }
+        String username = request.getParameter("username");
+        if (username != null) {
+            espera = loginPorUsuario.tentar(username.trim().toLowerCase(Locale.ROOT));
+            if (espera > 0) {
+                rejeitar(response, "login", "limite-usuario", HttpStatus.TOO_MANY_REQUESTS, espera,
+                        "Muitas tentativas de login para este usuário. Tente novamente em instantes.");
+                return;
+            }
+        }
+        // Fila do BCrypt cheia: a requisição seria rejeitada de qualquer forma, só que depois de ocupar uma thread
+        if (passwordHashService.capacidadeRestante() == 0) {
+            rejeitar(response, "login", "sobrecarga", HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1),
+                    "Servidor ocupado processando logins. Tente novamente em instantes.");
+            return;
+        }
+        contar("login", "admitida");
+        filterChain.doFilter(request, response);
+    }
+
+    private void rejeitar(HttpServletResponse response, String endpoint, String motivo, HttpStatus status,
+                          long esperaNanos, String mensagem) throws IOException {
+        contar(endpoint, motivo);
+        long segundos = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(esperaNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(segundos));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write("""
+                {"status": %d, "error": "%s", "message": "%s"}
+                """.formatted(status.value(), status.getReasonPhrase(), mensagem));
+    }
+
+    private void contar(String endpoint, String resultado) {
+        Counter.builder("autenticacao.admissao")
+                .description("Requisições de autenticação admitidas ou rejeitadas antes do processamento")
+                .tag("endpoint", endpoint)
+                .tag("resultado", resultado)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.avaliacao.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+
+@Configuration
+public class PasswordHashingConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingConfig.class);
+
+    private static final String BCRYPT = "bcrypt";
+    private static final int CUSTO_REFERENCIA = 10;
+    private static final int CUSTO_MAXIMO = 16;
+
+    // PasswordEncoder: hashes novos saem como "{bcrypt}$2a$<custo>$..."; o prefixo permite trocar o algoritmo no futuro
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${senha.bcrypt.custo}") int custo,
+                                           @Value("${senha.bcrypt.custo-minimo:10}") int custoMinimo,
+                                           @Value("${senha.bcrypt.calibrar:false}") boolean calibrar,
+                                           @Value("${senha.bcrypt.latencia-alvo-ms:100}") long latenciaAlvoMs) {
+        // O custo é sempre o configurado: calibrado a cada subida, ele mudaria conforme a carga da máquina naquele
+        // instante e a cada mudança para cima todos os usuários teriam o hash regravado no próximo login
+        if (custo < custoMinimo || custo > CUSTO_MAXIMO) {
+            throw new IllegalStateException("senha.bcrypt.custo deve estar entre " + custoMinimo + " e " + CUSTO_MAXIMO + ": " + custo);
+        }
+        if (calibrar) {
+            int recomendado = calibrarCusto(latenciaAlvoMs, custoMinimo);
+            log.info("BCrypt: custo configurado {}, recomendado {} para o alvo de {} ms nesta máquina", custo, recomendado, latenciaAlvoMs);
+        }
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(custo);
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT, Map.of(BCRYPT, bcrypt));
+        // Hashes gravados antes do prefixo {bcrypt} continuam válidos (e são atualizados no próximo login)
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+
+    /**
+     * Diagnóstico: o maior custo cujo hash fica abaixo da latência-alvo nesta máquina. Só é logado como recomendação;
+     * uma amostra na subida é ruidosa demais para virar o custo de produção.
+     * Cada ponto de custo dobra o tempo do BCrypt, então basta medir um custo de referência.
+     */
+    static int calibrarCusto(long latenciaAlvoMs, int custoMinimo) {
+        BCryptPasswordEncoder referencia = new BCryptPasswordEncoder(CUSTO_REFERENCIA);
+        referencia.encode("aquecimento");
+        long inicio = System.nanoTime();
+        referencia.encode("calibracao");
+        double duracaoMs = Math.max((System.nanoTime() - inicio) / 1_000_000.0, 1.0);
+
+        int custo = CUSTO_REFERENCIA + (int) Math.floor(Math.log(latenciaAlvoMs / duracaoMs) / Math.log(2));
+        custo = Math.max(custoMinimo, Math.min(CUSTO_MAXIMO, custo));
+        log.info("Calibração do BCrypt: custo {} levou {} ms", CUSTO_REFERENCIA, Math.round(duracaoMs));
+        return custo;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.avaliacao.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Saturação do pool de conexões: (conexões em uso + threads aguardando) / tamanho máximo.
+ * Acima de 1 há requisições na fila do pool; junto com hikaricp.connections.acquire (histograma) mostra
+ * quando o banco, e não a aplicação, é o gargalo.
+ */
+@Configuration(proxyBeanMethods = false)
+public class PoolConexoesMetricsConfig {
+
+    @Bean
+    public MeterBinder saturacaoPoolConexoes(DataSource dataSource) {
+        return registry -> {
+            HikariDataSource hikari = hikari(dataSource);
+            if (hikari == null) {
+                return;
+            }
+            Gauge.builder("hikaricp.connections.saturacao", hikari, PoolConexoesMetricsConfig::saturacao)
+                    .description("(Conexões ativas + threads aguardando) / tamanho máximo do pool")
+                    .tag("pool", hikari.getPoolName())
+                    .register(registry);
+        };
+    }
+
+    private static double saturacao(HikariDataSource hikari) {
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        if (pool == null || hikari.getMaximumPoolSize() <= 0) {
+            return 0;
+        }
+        return (double) (pool.getActiveConnections() + pool.getThreadsAwaitingConnection()) / hikari.getMaximumPoolSize();
+    }
+
+    private static HikariDataSource hikari(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.avaliacao.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Registra quantas linhas cada método de repositório devolve ({@code repositorio.linhas}, por repositório e método).
+ * O tempo das chamadas já vem do Spring Boot em {@code spring.data.repository.invocations}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class RepositoryMetricsConfig {
+
+    // Precisa atuar antes de o repositório ser criado, como o pós-processador de métricas do próprio Spring Boot
+    @Bean
+    static BeanPostProcessor linhasRetornadasPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean) {
+                    repositoryFactoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, informacoes) -> proxyFactory.addAdvice(new LinhasRetornadas(
+                                    meterRegistry, informacoes.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static final class LinhasRetornadas implements MethodInterceptor {
+
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private final String repositorio;
+
+        LinhasRetornadas(ObjectProvider<MeterRegistry> meterRegistry, String repositorio) {
+            this.meterRegistry = meterRegistry;
+            this.repositorio = repositorio;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocacao) throws Throwable {
+            Object resultado = invocacao.proceed();
+            String metodo = invocacao.getMethod().getName();
+            if (resultado instanceof Collection<?> colecao) {
+                registrar(metodo, colecao.size());
+            } else if (resultado instanceof Slice<?> pagina) {
+                registrar(metodo, pagina.getNumberOfElements());
+            } else if (resultado instanceof Optional<?> opcional) {
+                registrar(metodo, opcional.isPresent() ? 1 : 0);
+            } else if (resultado instanceof Stream<?> stream) {
+                // Streams (cursor JDBC) são contados conforme consumidos e registrados quando fechados
+                AtomicLong linhas = new AtomicLong();
+                return stream.peek(linha -> linhas.incrementAndGet()).onClose(() -> registrar(metodo, linhas.get()));
+            }
+            return resultado;
+        }
+
+        private void registrar(String metodo, long linhas) {
+            DistributionSummary.builder("repositorio.linhas")
+                    .description("Linhas devolvidas por chamada de repositório")
+                    .tag("repositorio", repositorio)
+                    .tag("metodo", metodo)
+                    .register(meterRegistry.getObject())
+                    .record(linhas);
+        }
+    }
+}
@@ -2,6 +2,11 @@ package com.example.avaliacao.config;
 
 import com.example.avaliacao.model.User;
 import com.example.avaliacao.repository.UserRepository;
+import com.example.avaliacao.service.UserLookupService;
+import com.example.avaliacao.service.VerifiedTokenCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 import jakarta.servlet.http.HttpServletResponse;
 
@@ -14,7 +19,6 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.boot.CommandLineRunner;
@@ -35,31 +39,31 @@ public class SecurityConfig {
     @Value("${jwt.secret}")
     private String jwtSecret;
 
-    // PasswordEncoder: Pra codificar senhas de forma segura
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
-
     // UserDetailsService: Como o Spring Security vai carregar os detalhes do usuário
     @Bean
-    public UserDetailsService userDetailsService(UserRepository userRepository) {
-        return username -> userRepository.findByUsername(username)
+    public UserDetailsService userDetailsService(UserLookupService userLookupService) {
+        return username -> userLookupService.buscar(username)
                 .map(user -> org.springframework.security.core.userdetails.User.builder()
-                        .username(user.getUsername())
-                        .password(user.getPassword())
-                        .roles(user.getRole())
+                        .username(user.username())
+                        .password(user.password())
+                        .roles(user.role())
                         .build())
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado: " + username));
     }
 
     // JwtDecoder: O componente que o Spring Security usa pra decodificar e validar JWTs
     @Bean
-    public JwtDecoder jwtDecoder() {
+    public JwtDecoder jwtDecoder(VerifiedTokenCache verifiedTokenCache, MeterRegistry meterRegistry) {
         // A chave secreta é convertida pra um SecretKeySpec para HMAC
         SecretKeySpec secretKey = new SecretKeySpec(jwtSecret.getBytes(StandardCharsets.UTF_8), "HmacSha256");
         // Constrói o NimbusJwtDecoder com a chave secreta. Ele fará a validação da assinatura.
-        return NimbusJwtDecoder.withSecretKey(secretKey).build();
+        NimbusJwtDecoder nimbusJwtDecoder = NimbusJwtDecoder.withSecretKey(secretKey).build();
+        Timer tempoVerificacao = Timer.builder("jwt.verificacao")
+                .description("Tempo da verificação completa de um token (assinatura e datas)")
+                .tag("origem", "resource-server")
+                .register(meterRegistry);
+        // Tokens já verificados (aqui ou em /auth/validate) são reaproveitados até o 'exp', sem refazer o HMAC
+        return new CachingJwtDecoder(token -> tempoVerificacao.record(() -> nimbusJwtDecoder.decode(token)), verifiedTokenCache);
     }
 
     private JwtAuthenticationConverter jwtAuthenticationConverter() {
@@ -78,7 +82,7 @@ public class SecurityConfig {
         .csrf(AbstractHttpConfigurer::disable)
         .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
         .authorizeHttpRequests(auth -> auth
-            .requestMatchers("/auth/login", "/auth/validate", "/h2-console/**",
+            .requestMatchers("/auth/login", "/auth/validate", "/auth/refresh", "/auth/revoke", "/h2-console/**",
                              "/swagger-ui/**", "/v3/api-docs/**", "/swagger-resources/**", 
                              "/swagger-ui.html", "/swagger-ui/index.html", "/webjars/**", "/actuator/**", "/error").permitAll()
             .anyRequest().authenticated()
@@ -0,0 +1,83 @@
+package com.example.avaliacao.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Na inicialização, avisa quais configurações de desenvolvimento estão ligadas (log de SQL, H2 em memória,
+ * ddl-auto, console do H2, DevTools). Elas custam vazão e não devem estar ativas em produção nem em teste de carga.
+ * A quantidade também é publicada em {@code configuracao.desenvolvimento.ativas}, para aparecer junto dos resultados de carga.
+ */
+@Component
+public class VerificacaoConfiguracaoDev {
+
+    private static final Logger log = LoggerFactory.getLogger(VerificacaoConfiguracaoDev.class);
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    public VerificacaoConfiguracaoDev(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verificar() {
+        List<String> ativas = encontrar();
+        Gauge.builder("configuracao.desenvolvimento.ativas", ativas, List::size)
+                .description("Configurações de desenvolvimento ligadas nesta instância")
+                .strongReference(true)
+                .register(meterRegistry);
+        if (!ativas.isEmpty()) {
+            log.warn("Configurações de desenvolvimento ativas ({}); não use esta instância em produção ou teste de carga. "
+                    + "Use o perfil 'prod'. {}", ativas.size(), String.join("; ", ativas));
+        }
+    }
+
+    /**
+     * @return Uma descrição de cada configuração de desenvolvimento encontrada (vazia no perfil prod).
+     */
+    public List<String> encontrar() {
+        List<String> ativas = new ArrayList<>();
+        if (ligado("spring.jpa.show-sql")) {
+            ativas.add("spring.jpa.show-sql=true (cada SQL vai para o console)");
+        }
+        if (ligado("spring.jpa.properties.hibernate.format_sql")) {
+            ativas.add("hibernate.format_sql=true");
+        }
+        String nivelSql = environment.getProperty("logging.level.org.hibernate.SQL", "");
+        if ("debug".equalsIgnoreCase(nivelSql) || "trace".equalsIgnoreCase(nivelSql)) {
+            ativas.add("logging.level.org.hibernate.SQL=" + nivelSql);
+        }
+        String ddlAuto = environment.getProperty("spring.jpa.hibernate.ddl-auto", "").toLowerCase(Locale.ROOT);
+        if (ddlAuto.equals("update") || ddlAuto.startsWith("create")) {
+            ativas.add("spring.jpa.hibernate.ddl-auto=" + ddlAuto);
+        }
+        if (environment.getProperty("spring.datasource.url", "").startsWith("jdbc:h2:mem:")) {
+            ativas.add("banco H2 em memória");
+        }
+        if (ligado("spring.h2.console.enabled")) {
+            ativas.add("console do H2 habilitado");
+        }
+        if (ClassUtils.isPresent("org.springframework.boot.devtools.RemoteSpringApplication", getClass().getClassLoader())
+                && environment.getProperty("spring.devtools.restart.enabled", Boolean.class, true)) {
+            ativas.add("DevTools com restart automático");
+        }
+        return ativas;
+    }
+
+    private boolean ligado(String propriedade) {
+        return environment.getProperty(propriedade, Boolean.class, false);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.avaliacao.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Observa, via JFR, virtual threads que ficaram presas à thread portadora (bloqueio dentro de synchronized ou
+ * de código nativo). Cada ocorrência acima do limiar é contada em {@code jvm.threads.virtual.pinned} e logada
+ * com o topo da pilha, para achar o trecho que precisa trocar synchronized por ReentrantLock.
+ * Só existe no perfil virtual-threads.
+ */
+@Component
+@Profile("virtual-threads")
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String EVENTO = "jdk.VirtualThreadPinned";
+    private static final int FRAMES_NO_LOG = 8;
+
+    private final Duration limiar;
+    private final Counter ocorrencias;
+    private final Timer duracao;
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(@Value("${virtual-threads.pinning.limiar-ms:20}") long limiarMs,
+                                       MeterRegistry meterRegistry) {
+        this.limiar = Duration.ofMillis(limiarMs);
+        this.ocorrencias = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads presas à portadora por mais que o limiar configurado")
+                .register(meterRegistry);
+        this.duracao = Timer.builder("jvm.threads.virtual.pinned.duration")
+                .description("Tempo em que a virtual thread ficou presa à portadora")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        stream = new RecordingStream();
+        stream.enable(EVENTO).withThreshold(limiar).withStackTrace();
+        stream.onEvent(EVENTO, this::registrar);
+        stream.startAsync();
+        log.info("Monitor de pinning de virtual threads ativo (limiar {} ms)", limiar.toMillis());
+    }
+
+    @PreDestroy
+    public void parar() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void registrar(RecordedEvent evento) {
+        ocorrencias.increment();
+        duracao.record(evento.getDuration());
+        log.warn("Virtual thread presa à portadora por {} ms em:\n{}", evento.getDuration().toMillis(), pilha(evento));
+    }
+
+    private static String pilha(RecordedEvent evento) {
+        RecordedStackTrace stackTrace = evento.getStackTrace();
+        if (stackTrace == null) {
+            return "    (pilha indisponível)";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        return frames.stream()
+                .limit(FRAMES_NO_LOG)
+                .map(frame -> "    at " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n"));
+    }
+}
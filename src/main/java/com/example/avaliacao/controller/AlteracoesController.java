@@ -0,0 +1,59 @@
+package com.example.avaliacao.controller;
+
+import com.example.avaliacao.dto.EventoAlteracao;
+import com.example.avaliacao.dto.Pagina;
+import com.example.avaliacao.service.HistoricoDescartadoException;
+import com.example.avaliacao.service.OutboxService;
+
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@SecurityRequirement(name = "bearerAuth")
+@RestController
+@RequestMapping("/changes")
+public class AlteracoesController {
+
+    /** Cabeçalho da resposta 410 com a posição a partir da qual o cliente continua depois de ressincronizar. */
+    public static final String CABECALHO_ULTIMA_POSICAO = "X-Last-Position";
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @io.swagger.v3.oas.annotations.Operation(
+        summary = "Alterações de alunos e cursos desde uma posição",
+        description = "Retorna no máximo `size` alterações (CRIADO, ATUALIZADO, EXCLUIDO) com posição maior que `since`, "
+                + "em ordem. Guarde a `posicao` do último item e envie-a como `since` na próxima chamada; X-Next-Cursor "
+                + "indica que há mais alterações à espera. Cada item traz só o id: busque o estado atual em "
+                + "GET /alunos/{id} ou /cursos/{id}. Responde 410 (com X-Last-Position) se `since` for anterior ao "
+                + "histórico guardado: sincronize pelas listagens e continue a partir de X-Last-Position."
+    )
+    @GetMapping
+    public ResponseEntity<?> listarAlteracoes(@RequestParam(defaultValue = "0") long since,
+                                              @RequestParam(required = false) Integer size) {
+        if (since < 0) {
+            return ResponseEntity.badRequest().body("'since' deve ser 0 ou uma posição recebida anteriormente.");
+        }
+        Pagina<EventoAlteracao> pagina;
+        try {
+            pagina = outboxService.listarAlteracoes(since, size);
+        } catch (HistoricoDescartadoException e) {
+            return ResponseEntity.status(HttpStatus.GONE)
+                    .header(CABECALHO_ULTIMA_POSICAO, Long.toString(e.getUltimaPosicao()))
+                    .body(e.getMessage());
+        }
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+        if (pagina.proximoCursor() != null) {
+            resposta.header(Pagina.CABECALHO_PROXIMO_CURSOR, pagina.proximoCursor().toString());
+        }
+        return resposta.body(pagina.itens());
+    }
+}
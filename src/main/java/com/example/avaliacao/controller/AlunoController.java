@@ -1,27 +1,61 @@
 package com.example.avaliacao.controller;
 
+import com.example.avaliacao.dto.AlunoResumo;
+import com.example.avaliacao.dto.FiltroAlunos;
+import com.example.avaliacao.dto.Pagina;
+import com.example.avaliacao.dto.ResultadoExclusao;
+import com.example.avaliacao.dto.ResultadoImportacao;
 import com.example.avaliacao.model.Aluno;
+import com.example.avaliacao.service.AlunoImportacaoService;
 import com.example.avaliacao.service.AlunoService;
+import com.example.avaliacao.service.VersaoDesatualizadaException;
 
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.sql.Date;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 @SecurityRequirement(name = "bearerAuth")
 @RestController
 @RequestMapping("/alunos")
 public class AlunoController {
 
+    public static final String TEXT_CSV = "text/csv";
+
+    // Busca por id: o cliente pode guardar, mas revalida sempre (If-None-Match -> 304 enquanto a versão for a mesma)
+    private static final CacheControl CACHE_POR_ID = CacheControl.noCache().cachePrivate();
+
     @Autowired
     private AlunoService alunoService;
 
+    @Autowired
+    private AlunoImportacaoService alunoImportacaoService;
+
+    @Autowired
+    private StreamingResponseWriter streamingResponseWriter;
+
+    @Value("${cache-http.listagens.max-age-segundos:5}")
+    private long maxAgeListagens;
+
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     @io.swagger.v3.oas.annotations.Operation(
         summary = "Criar um novo aluno(a)",
@@ -57,23 +91,146 @@ public class AlunoController {
         }
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @io.swagger.v3.oas.annotations.Operation(
+        summary = "Importar alunos em lote",
+        description = "Recebe um array JSON (mesmo formato do POST /alunos, aceitando também \"cursoId\") "
+                + "ou um CSV com cabeçalho nome,email,dataNascimento,cursoId. "
+                + "Retorna o resultado de cada linha: IMPORTADO (com o id gerado) ou REJEITADO (com o motivo).",
+        requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+            required = true,
+            content = {
+                @Content(
+                    mediaType = "application/json",
+                    examples = @ExampleObject(
+                        name = "Exemplo JSON",
+                        value = """
+                        [
+                          { "nome": "Ana Cristina", "email": "anaExemplo@gmail.com", "dataNascimento": "2004-10-10", "cursoId": 1 },
+                          { "nome": "Bruno Lima", "email": "brunoExemplo@gmail.com", "curso": { "id": 1 } }
+                        ]
+                        """
+                    )
+                ),
+                @Content(
+                    mediaType = TEXT_CSV,
+                    examples = @ExampleObject(
+                        name = "Exemplo CSV",
+                        value = """
+                        nome,email,dataNascimento,cursoId
+                        Ana Cristina,anaExemplo@gmail.com,2004-10-10,1
+                        Bruno Lima,brunoExemplo@gmail.com,,1
+                        """
+                    )
+                )
+            }
+        )
+    )
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> importarAlunosJson(InputStream corpo) {
+        try {
+            ResultadoImportacao resultado = alunoImportacaoService.importarJson(corpo);
+            return ResponseEntity.ok(resultado);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/bulk", consumes = TEXT_CSV)
+    public ResponseEntity<?> importarAlunosCsv(InputStream corpo) {
+        try {
+            ResultadoImportacao resultado = alunoImportacaoService.importarCsv(corpo);
+            return ResponseEntity.ok(resultado);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @io.swagger.v3.oas.annotations.Operation(
+        summary = "Listar alunos com paginação por cursor",
+        description = "Retorna no máximo `size` alunos com id maior que `after`. "
+                + "O cabeçalho X-Next-Cursor traz o valor de `after` da próxima página e é omitido na última. "
+                + "Envie Accept: application/x-ndjson para receber todos os registros em streaming."
+    )
     @GetMapping
-    public ResponseEntity<List<Aluno>> listarAlunos() {
-        return ResponseEntity.ok(alunoService.listarAlunos());
+    public ResponseEntity<List<AlunoResumo>> listarAlunos(@RequestParam(required = false) Long after,
+                                                          @RequestParam(required = false) Integer size) {
+        Pagina<AlunoResumo> pagina = alunoService.listarAlunos(after, size);
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+        if (pagina.proximoCursor() != null) {
+            resposta.header(Pagina.CABECALHO_PROXIMO_CURSOR, pagina.proximoCursor().toString());
+        }
+        return resposta.eTag(ETags.doConteudo(pagina.itens()))
+                .varyBy(HttpHeaders.ACCEPT)
+                .cacheControl(CacheControl.maxAge(maxAgeListagens, TimeUnit.SECONDS).cachePrivate())
+                .body(pagina.itens());
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @GetMapping(produces = StreamingResponseWriter.NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamAlunos() {
+        return streamingResponseWriter.<AlunoResumo>ndjson(alunoService::percorrerAlunos);
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @GetMapping(produces = StreamingResponseWriter.CBOR_SEQ)
+    public ResponseEntity<StreamingResponseBody> streamAlunosCbor() {
+        return streamingResponseWriter.<AlunoResumo>cborSeq(alunoService::percorrerAlunos);
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @io.swagger.v3.oas.annotations.Operation(
+        summary = "Buscar alunos por filtros",
+        description = "Filtros combináveis: `email` (exato), `nome` (início do nome) ou `nomeContem` (trecho em qualquer "
+                + "posição), ambos sem diferenciar acentos e maiúsculas, `cursoId` e a faixa `nascidoDe`/`nascidoAte` "
+                + "(AAAA-MM-DD, inclusivas). Paginação por cursor como em GET /alunos (`after`, `size`, X-Next-Cursor)."
+    )
+    @GetMapping("/search")
+    public ResponseEntity<?> buscarAlunos(@RequestParam(required = false) String email,
+                                          @RequestParam(required = false) String nome,
+                                          @RequestParam(required = false) String nomeContem,
+                                          @RequestParam(required = false) Long cursoId,
+                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate nascidoDe,
+                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate nascidoAte,
+                                          @RequestParam(required = false) Long after,
+                                          @RequestParam(required = false) Integer size) {
+        FiltroAlunos filtro = new FiltroAlunos(vazioComoNulo(email), vazioComoNulo(nome), vazioComoNulo(nomeContem), cursoId,
+                nascidoDe == null ? null : Date.valueOf(nascidoDe), nascidoAte == null ? null : Date.valueOf(nascidoAte));
+        Pagina<AlunoResumo> pagina;
+        try {
+            pagina = alunoService.buscarAlunos(filtro, after, size);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+        if (pagina.proximoCursor() != null) {
+            resposta.header(Pagina.CABECALHO_PROXIMO_CURSOR, pagina.proximoCursor().toString());
+        }
+        return resposta.eTag(ETags.doConteudo(pagina.itens()))
+                .varyBy(HttpHeaders.ACCEPT)
+                .cacheControl(CacheControl.maxAge(maxAgeListagens, TimeUnit.SECONDS).cachePrivate())
+                .body(pagina.itens());
     }
 
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     @GetMapping("/{id}")
     public ResponseEntity<?> buscarAlunoPorId(@PathVariable Long id) {
         return alunoService.buscarAlunoPorId(id)
-                .map(ResponseEntity::ok)
+                .map(aluno -> ResponseEntity.ok()
+                        .eTag(ETags.daVersao(aluno.getVersao()))
+                        .cacheControl(CACHE_POR_ID)
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .body(aluno))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @PreAuthorize("hasRole('ADMIN')")
       @io.swagger.v3.oas.annotations.Operation(
         summary = "Atualizar um aluno",
+        description = "Aceita If-Match com a ETag recebida em uma leitura ou gravação anterior: se o registro tiver "
+                + "mudado desde então, responde 412 sem gravar. A resposta traz a ETag da nova versão.",
         requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
             description = "Corpo da requisição para atualizar um aluno",
             required = true,
@@ -97,10 +254,38 @@ public class AlunoController {
         )
     )
     @PutMapping("/{id}")
-    public ResponseEntity<?> atualizarAluno(@PathVariable Long id, @RequestBody Aluno aluno) {
-        return alunoService.atualizarAluno(id, aluno)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<?> atualizarAluno(@PathVariable Long id, @RequestBody Aluno aluno,
+                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            return alunoService.atualizarAluno(id, aluno, ETags.versaoExigida(ifMatch))
+                    .map(atualizado -> ResponseEntity.ok().eTag(ETags.daVersao(atualizado.getVersao())).body(atualizado))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (VersaoDesatualizadaException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                    .eTag(ETags.daVersao(e.getVersaoAtual()))
+                    .body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            // Outra requisição gravou entre a leitura e o commit desta
+            return ResponseEntity.status(ifMatch == null ? HttpStatus.CONFLICT : HttpStatus.PRECONDITION_FAILED)
+                    .body("O registro foi alterado por outra requisição. Busque a versão atual e tente novamente.");
+        }
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @io.swagger.v3.oas.annotations.Operation(
+        summary = "Excluir alunos em lote",
+        description = "Exclui os alunos dos ids informados (?ids=1,2,3) com DELETEs de até 1000 ids, em uma única transação. "
+                + "Ids inexistentes são ignorados; a resposta traz quantos foram excluídos."
+    )
+    @DeleteMapping
+    public ResponseEntity<?> deletarAlunos(@RequestParam List<Long> ids) {
+        if (ids.isEmpty()) {
+            return ResponseEntity.badRequest().body("Informe ao menos um id em 'ids'.");
+        }
+        long solicitados = ids.stream().filter(Objects::nonNull).distinct().count();
+        return ResponseEntity.ok(new ResultadoExclusao((int) solicitados, alunoService.deletarAlunos(ids)));
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -112,4 +297,8 @@ public class AlunoController {
             return ResponseEntity.notFound().build();
         }
     }
-}
\ No newline at end of file
+
+    private static String vazioComoNulo(String valor) {
+        return valor == null || valor.isBlank() ? null : valor.trim();
+    }
+}
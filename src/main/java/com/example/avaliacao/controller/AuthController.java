@@ -1,7 +1,9 @@
 package com.example.avaliacao.controller;
 
+import com.example.avaliacao.dto.ParDeTokens;
 import com.example.avaliacao.service.AuthService;
 import com.example.avaliacao.service.JwtService;
+import com.example.avaliacao.service.RefreshTokenService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -15,32 +17,46 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import java.util.concurrent.RejectedExecutionException;
+
 @SecurityRequirement(name = "bearerAuth")
 @RestController
 @RequestMapping("/auth")
 @Tag(name = "Autenticação", description = "Endpoints para login e geração/validação de tokens JWT")
 public class AuthController {
 
+    /**
+     * Header com o refresh token nas respostas de login e de renovação; o corpo continua sendo só o JWT.
+     */
+    public static final String REFRESH_TOKEN_HEADER = "X-Refresh-Token";
+
     private final AuthService authService;
     private final JwtService jwtService;
+    private final RefreshTokenService refreshTokenService;
 
-    public AuthController(AuthService authService, JwtService jwtService) {
+    public AuthController(AuthService authService, JwtService jwtService, RefreshTokenService refreshTokenService) {
         this.authService = authService;
         this.jwtService = jwtService;
+        this.refreshTokenService = refreshTokenService;
     }
 
     @Operation(summary = "Realiza o login do usuário e emite um token JWT")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Login bem-sucedido, retorna o token JWT"),
-        @ApiResponse(responseCode = "401", description = "Credenciais inválidas")
+        @ApiResponse(responseCode = "200", description = "Login bem-sucedido, retorna o token JWT (refresh token no header X-Refresh-Token)"),
+        @ApiResponse(responseCode = "401", description = "Credenciais inválidas"),
+        @ApiResponse(responseCode = "503", description = "Muitos logins simultâneos; tente novamente em instantes")
     })
     @PostMapping("/login")
     public ResponseEntity<String> login(@RequestParam String username, @RequestParam String password) {
         try {
             String token = authService.authenticateUserAndGenerateToken(username, password);
-            return ResponseEntity.ok(token);
+            return ResponseEntity.ok()
+                    .header(REFRESH_TOKEN_HEADER, refreshTokenService.emitir(username))
+                    .body(token);
         } catch (BadCredentialsException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Servidor ocupado processando logins. Tente novamente em instantes.");
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Ocorreu um erro interno ao tentar logar.");
         }
@@ -59,4 +75,31 @@ public class AuthController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Token inválido ou expirado.");
         }
     }
+
+    @Operation(summary = "Troca um refresh token por um novo JWT e um novo refresh token, sem reenviar a senha")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Retorna o novo JWT; o novo refresh token vem no header X-Refresh-Token e o anterior deixa de valer"),
+        @ApiResponse(responseCode = "401", description = "Refresh token inválido, expirado ou já utilizado (neste caso a sessão inteira é revogada)")
+    })
+    @PostMapping("/refresh")
+    public ResponseEntity<String> refresh(@RequestParam String refreshToken) {
+        try {
+            ParDeTokens tokens = refreshTokenService.renovar(refreshToken);
+            return ResponseEntity.ok()
+                    .header(REFRESH_TOKEN_HEADER, tokens.refreshToken())
+                    .body(tokens.accessToken());
+        } catch (BadCredentialsException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Revoga a sessão do refresh token (logout)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Sessão revogada (ou token desconhecido)")
+    })
+    @PostMapping("/revoke")
+    public ResponseEntity<Void> revoke(@RequestParam String refreshToken) {
+        refreshTokenService.revogar(refreshToken);
+        return ResponseEntity.noContent().build();
+    }
 }
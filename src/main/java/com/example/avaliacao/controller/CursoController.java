@@ -1,27 +1,53 @@
 package com.example.avaliacao.controller;
 
+import com.example.avaliacao.dto.CursoEncontrado;
+import com.example.avaliacao.dto.CursoResumo;
+import com.example.avaliacao.dto.EstatisticasCurso;
+import com.example.avaliacao.dto.Pagina;
+import com.example.avaliacao.dto.ResultadoBusca;
 import com.example.avaliacao.model.Curso;
+import com.example.avaliacao.service.CursoBuscaService;
 import com.example.avaliacao.service.CursoService;
+import com.example.avaliacao.service.VersaoDesatualizadaException;
 
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @SecurityRequirement(name = "bearerAuth")
 @RestController
 @RequestMapping("/cursos")
 public class CursoController {
 
+    // Busca por id: o cliente pode guardar, mas revalida sempre (If-None-Match -> 304 enquanto nada mudar)
+    private static final CacheControl CACHE_POR_ID = CacheControl.noCache().cachePrivate();
+
     @Autowired
     private CursoService cursoService;
 
+    @Autowired
+    private CursoBuscaService cursoBuscaService;
+
+    @Autowired
+    private StreamingResponseWriter streamingResponseWriter;
+
+    @Value("${cache-http.listagens.max-age-segundos:5}")
+    private long maxAgeListagens;
+
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     @io.swagger.v3.oas.annotations.Operation(
         summary = "Criar um novo curso",
@@ -50,22 +76,109 @@ public class CursoController {
     }
 
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @io.swagger.v3.oas.annotations.Operation(
+        summary = "Listar cursos com paginação por cursor",
+        description = "Retorna no máximo `size` cursos com id maior que `after`. "
+                + "O cabeçalho X-Next-Cursor traz o valor de `after` da próxima página e é omitido na última. "
+                + "Com `expand=alunos`, os alunos de todos os cursos da página são buscados em uma única consulta. "
+                + "Envie Accept: application/x-ndjson para receber todos os registros em streaming."
+    )
     @GetMapping
-    public ResponseEntity<List<Curso>> listarCursos() {
-        return ResponseEntity.ok(cursoService.listarCursos());
+    public ResponseEntity<List<CursoResumo>> listarCursos(@RequestParam(required = false) Long after,
+                                                          @RequestParam(required = false) Integer size,
+                                                          @RequestParam(required = false) String expand) {
+        Pagina<CursoResumo> pagina = cursoService.listarCursos(after, size, expandirAlunos(expand));
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+        if (pagina.proximoCursor() != null) {
+            resposta.header(Pagina.CABECALHO_PROXIMO_CURSOR, pagina.proximoCursor().toString());
+        }
+        return resposta.eTag(ETags.doConteudo(pagina.itens()))
+                .varyBy(HttpHeaders.ACCEPT)
+                .cacheControl(CacheControl.maxAge(maxAgeListagens, TimeUnit.SECONDS).cachePrivate())
+                .body(pagina.itens());
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @GetMapping(produces = StreamingResponseWriter.NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamCursos(@RequestParam(required = false) String expand) {
+        boolean expandirAlunos = expandirAlunos(expand);
+        return streamingResponseWriter.<CursoResumo>ndjson(consumidor -> cursoService.percorrerCursos(expandirAlunos, consumidor));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @GetMapping(produces = StreamingResponseWriter.CBOR_SEQ)
+    public ResponseEntity<StreamingResponseBody> streamCursosCbor(@RequestParam(required = false) String expand) {
+        boolean expandirAlunos = expandirAlunos(expand);
+        return streamingResponseWriter.<CursoResumo>cborSeq(consumidor -> cursoService.percorrerCursos(expandirAlunos, consumidor));
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @io.swagger.v3.oas.annotations.Operation(
+        summary = "Estatísticas de matrícula por curso",
+        description = "Para cada curso: quantidade de alunos, carga horária total (cargaHoraria x alunos) e alunos por "
+                + "faixa etária. Calculadas por uma única consulta agregada, sem carregar os alunos. "
+                + "Paginação por cursor como em GET /cursos (`after`, `size`, X-Next-Cursor)."
+    )
+    @GetMapping("/stats")
+    public ResponseEntity<List<EstatisticasCurso>> estatisticas(@RequestParam(required = false) Long after,
+                                                                @RequestParam(required = false) Integer size) {
+        Pagina<EstatisticasCurso> pagina = cursoService.estatisticas(after, size);
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+        if (pagina.proximoCursor() != null) {
+            resposta.header(Pagina.CABECALHO_PROXIMO_CURSOR, pagina.proximoCursor().toString());
+        }
+        return resposta.eTag(ETags.doConteudo(pagina.itens()))
+                .varyBy(HttpHeaders.ACCEPT)
+                .cacheControl(CacheControl.maxAge(maxAgeListagens, TimeUnit.SECONDS).cachePrivate())
+                .body(pagina.itens());
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @io.swagger.v3.oas.annotations.Operation(
+        summary = "Buscar cursos por texto",
+        description = "Busca textual em nome e descrição (português: sem acentos, stopwords e variações da palavra), "
+                + "em ordem de relevância, com termos do nome pesando mais. Paginação por `page` (a partir de 0) e `size`. "
+                + "`indiceCompleto` é false enquanto o índice ainda está sendo reconstruído após a inicialização."
+    )
+    @GetMapping("/search")
+    public ResponseEntity<?> buscarCursos(@RequestParam String q,
+                                          @RequestParam(defaultValue = "0") int page,
+                                          @RequestParam(required = false) Integer size) {
+        if (q.isBlank() || page < 0) {
+            return ResponseEntity.badRequest().body("Informe o texto em 'q' e uma página a partir de 0.");
+        }
+        ResultadoBusca<CursoEncontrado> resultado;
+        try {
+            resultado = cursoBuscaService.buscar(q, page, size);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        return ResponseEntity.ok()
+                // O resultado inteiro (total e indiceCompleto inclusos), não só os itens
+                .eTag(ETags.doConteudo(List.of(resultado)))
+                .varyBy(HttpHeaders.ACCEPT)
+                .cacheControl(CacheControl.maxAge(maxAgeListagens, TimeUnit.SECONDS).cachePrivate())
+                .body(resultado);
     }
 
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     @GetMapping("/{id}")
     public ResponseEntity<?> buscarCursoPorId(@PathVariable Long id) {
+        // Com If-None-Match correspondente, a resposta é 304 e a coleção de alunos nem chega a ser carregada
         return cursoService.buscarCursoPorId(id)
-                .map(ResponseEntity::ok)
+                .map(curso -> ResponseEntity.ok()
+                        .eTag(etagDoCurso(curso))
+                        .cacheControl(CACHE_POR_ID)
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .body(curso))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @PreAuthorize("hasRole('ADMIN')")
     @io.swagger.v3.oas.annotations.Operation(
         summary = "Atualizar curso",
+        description = "Aceita If-Match com a ETag recebida em uma leitura ou gravação anterior: se o registro tiver "
+                + "mudado desde então, responde 412 sem gravar. A resposta traz a ETag da nova versão.",
         requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
             description = "Corpo da requisição para atualizar um curso",
             required = true,
@@ -86,10 +199,22 @@ public class CursoController {
         )
     )
     @PutMapping("/{id}")
-    public ResponseEntity<?> atualizarCurso(@PathVariable Long id, @RequestBody Curso curso) {
-        return cursoService.atualizarCurso(id, curso)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<?> atualizarCurso(@PathVariable Long id, @RequestBody Curso curso,
+                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            return cursoService.atualizarCurso(id, curso, ETags.versaoExigida(ifMatch))
+                    .map(atualizado -> ResponseEntity.ok().eTag(etagDoCurso(atualizado)).body(atualizado))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (VersaoDesatualizadaException e) {
+            // A mesma ETag composta de GET /cursos/{id}, para servir também de If-None-Match
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                    .eTag(etagDoCurso(id, e.getVersaoAtual()))
+                    .body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            // Outra requisição gravou entre a leitura e o commit desta
+            return ResponseEntity.status(ifMatch == null ? HttpStatus.CONFLICT : HttpStatus.PRECONDITION_FAILED)
+                    .body("O registro foi alterado por outra requisição. Busque a versão atual e tente novamente.");
+        }
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -101,4 +226,18 @@ public class CursoController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    private static boolean expandirAlunos(String expand) {
+        return "alunos".equalsIgnoreCase(expand);
+    }
+
+    // O corpo inclui os alunos, que têm versão própria: a ETag junta a versão do curso ao hash dos pares (id, versão)
+    // deles. Um agregado (quantidade, maior id, soma das versões) colidia quando um aluno saía e outro entrava
+    private String etagDoCurso(Curso curso) {
+        return etagDoCurso(curso.getId(), curso.getVersao());
+    }
+
+    private String etagDoCurso(Long id, Long versao) {
+        return ETags.daVersao(versao, cursoService.versoesDosAlunos(id).toArray());
+    }
 }
@@ -0,0 +1,123 @@
+package com.example.avaliacao.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ETags fortes das respostas: derivadas da versão da entidade (@Version) ou de um hash do conteúdo,
+ * sem serializar o corpo. Com a ETag na {@code ResponseEntity}, o Spring responde 304 ao If-None-Match
+ * correspondente antes de escrever o corpo.
+ */
+final class ETags {
+
+    /** Versão que nenhum registro tem: um If-Match ilegível nunca corresponde (412), como manda a RFC 9110. */
+    static final long NENHUMA_VERSAO = -1L;
+
+    private static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private static final long FNV_BASE = 0xcbf29ce484222325L;
+    private static final long FNV_PRIMO = 0x100000001b3L;
+
+    private ETags() {
+    }
+
+    static String daVersao(Long versao) {
+        return "\"" + versao + sufixoDoFormato() + "\"";
+    }
+
+    /**
+     * ETag de uma entidade cuja representação inclui dados de outras tabelas (ex.: o curso com seus alunos).
+     * Começa pela versão, para continuar servindo de If-Match no PUT.
+     */
+    static String daVersao(Long versao, Object... complemento) {
+        return "\"" + versao + "-" + Long.toHexString(hash(Arrays.asList(complemento))) + sufixoDoFormato() + "\"";
+    }
+
+    /**
+     * ETag de uma página de listagem, pelo hash dos itens.
+     * As projeções são records: o toString cobre todos os componentes, inclusive os alunos expandidos.
+     */
+    static String doConteudo(List<?> itens) {
+        return "\"" + Long.toHexString(hash(itens)) + sufixoDoFormato() + "\"";
+    }
+
+    /**
+     * Lê a versão exigida por um cabeçalho If-Match.
+     * @param ifMatch Valor do cabeçalho, por exemplo {@code "3"}, {@code "3-9f0c..."} ou {@code *}; pode ser null.
+     * @return null se não houver pré-condição (ausente ou {@code *}), a versão da primeira ETag forte
+     *         ou {@link #NENHUMA_VERSAO} se nenhuma ETag do cabeçalho for de versão.
+     */
+    static Long versaoExigida(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        for (String etag : ifMatch.split(",")) {
+            etag = etag.trim();
+            // ETags fracas (W/"...") não servem para If-Match: a comparação tem de ser forte
+            if (etag.length() > 2 && etag.startsWith("\"") && etag.endsWith("\"")) {
+                String valor = etag.substring(1, etag.length() - 1);
+                int separador = valor.indexOf('-');
+                try {
+                    return Long.valueOf(separador < 0 ? valor : valor.substring(0, separador));
+                } catch (NumberFormatException e) {
+                    // não é uma ETag de versão emitida por esta API; tenta a próxima
+                }
+            }
+        }
+        return NENHUMA_VERSAO;
+    }
+
+    /**
+     * JSON, CBOR e Smile do mesmo conteúdo têm bytes diferentes, e uma ETag forte identifica os bytes:
+     * respostas em formato binário ganham o sufixo do formato (as de JSON ficam como estão).
+     * O formato é deduzido do Accept da requisição atual, na mesma ordem de preferência da negociação do Spring.
+     */
+    private static String sufixoDoFormato() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes atributos)) {
+            return "";
+        }
+        String accept = atributos.getRequest().getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank()) {
+            return "";
+        }
+        try {
+            List<MediaType> aceitos = MediaType.parseMediaTypes(accept);
+            MimeTypeUtils.sortBySpecificity(aceitos);
+            for (MediaType aceito : aceitos) {
+                if (aceito.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                    return "";
+                }
+                if (aceito.isCompatibleWith(CBOR)) {
+                    return "-cbor";
+                }
+                if (aceito.isCompatibleWith(SMILE)) {
+                    return "-smile";
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            // Accept malformado: o Spring também cai no JSON
+        }
+        return "";
+    }
+
+    // FNV-1a de 64 bits sobre o texto de cada valor, com separador entre eles
+    private static long hash(List<?> valores) {
+        long hash = FNV_BASE;
+        for (Object valor : valores) {
+            String texto = String.valueOf(valor);
+            for (int i = 0; i < texto.length(); i++) {
+                hash = (hash ^ texto.charAt(i)) * FNV_PRIMO;
+            }
+            hash = (hash ^ 0x1F) * FNV_PRIMO;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.avaliacao.controller;
+
+import com.example.avaliacao.service.SincronizacaoService;
+
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@SecurityRequirement(name = "bearerAuth")
+@RestController
+@RequestMapping("/sync")
+public class SincronizacaoController {
+
+    @Autowired
+    private SincronizacaoService sincronizacaoService;
+
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @io.swagger.v3.oas.annotations.Operation(
+        summary = "Cursos e alunos alterados desde uma revisão",
+        description = "Sem `since`, retorna todos os cursos e alunos (primeira sincronização). Com `since`, só os gravados "
+                + "depois dessa revisão, inclusive os excluídos (`removido: true`, só com id e revisão). Enquanto "
+                + "`proximoCursor` vier preenchido, repita a chamada com o mesmo `since` e `after` igual a ele; depois "
+                + "da última página, guarde `revisao` e envie-a como `since` na próxima sincronização."
+    )
+    @GetMapping
+    public ResponseEntity<?> sincronizar(@RequestParam(required = false) Long since,
+                                         @RequestParam(required = false) String after,
+                                         @RequestParam(required = false) Integer size) {
+        if (since != null && since < 0) {
+            return ResponseEntity.badRequest().body("'since' deve ser uma revisão recebida anteriormente.");
+        }
+        try {
+            return ResponseEntity.ok(sincronizacaoService.sincronizar(since, after, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.avaliacao.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Escreve listagens grandes em streaming, à medida que os registros saem do cursor JDBC,
+ * sem montar a lista inteira em memória: NDJSON (um objeto JSON por linha) ou
+ * CBOR Sequence (RFC 8742, itens CBOR concatenados).
+ */
+@Component
+public class StreamingResponseWriter {
+
+    public static final String NDJSON = "application/x-ndjson";
+    public static final String CBOR_SEQ = "application/cbor-seq";
+
+    private static final MediaType NDJSON_TYPE = MediaType.parseMediaType(NDJSON);
+    private static final MediaType CBOR_SEQ_TYPE = MediaType.parseMediaType(CBOR_SEQ);
+
+    private final ObjectWriter ndjsonWriter;
+    private final ObjectWriter cborSeqWriter;
+
+    public StreamingResponseWriter(ObjectMapper objectMapper, MappingJackson2CborHttpMessageConverter cborConverter) {
+        // Não fecha o stream da resposta: quem encerra a resposta é o Spring MVC
+        this.ndjsonWriter = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n");
+        // Itens CBOR são autodelimitados: a sequência não precisa de separador
+        this.cborSeqWriter = cborConverter.getObjectMapper().writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Monta a resposta em streaming NDJSON.
+     * @param fonte Função que percorre os registros e entrega cada um ao consumidor recebido.
+     * @return A resposta, que será escrita de forma assíncrona pelo Spring MVC.
+     */
+    public <T> ResponseEntity<StreamingResponseBody> ndjson(Consumer<Consumer<T>> fonte) {
+        return sequencia(ndjsonWriter, NDJSON_TYPE, fonte);
+    }
+
+    /**
+     * Monta a resposta em streaming CBOR Sequence; mesmo conteúdo do NDJSON, em binário.
+     * @param fonte Função que percorre os registros e entrega cada um ao consumidor recebido.
+     * @return A resposta, que será escrita de forma assíncrona pelo Spring MVC.
+     */
+    public <T> ResponseEntity<StreamingResponseBody> cborSeq(Consumer<Consumer<T>> fonte) {
+        return sequencia(cborSeqWriter, CBOR_SEQ_TYPE, fonte);
+    }
+
+    private static <T> ResponseEntity<StreamingResponseBody> sequencia(ObjectWriter writer, MediaType tipo,
+                                                                       Consumer<Consumer<T>> fonte) {
+        StreamingResponseBody corpo = saida -> {
+            try (SequenceWriter sequencia = writer.writeValues(saida)) {
+                fonte.accept(item -> {
+                    try {
+                        sequencia.write(item);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(tipo).body(corpo);
+    }
+}
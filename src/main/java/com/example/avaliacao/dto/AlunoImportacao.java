@@ -0,0 +1,24 @@
+package com.example.avaliacao.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.sql.Date;
+
+/**
+ * Uma linha da importação em lote de alunos (POST /alunos/bulk).
+ * O curso pode vir como {@code "cursoId": 1} ou, como no POST /alunos, {@code "curso": {"id": 1}}.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record AlunoImportacao(String nome, String email, Date dataNascimento, Long cursoId, Referencia curso) {
+
+    public Long idDoCurso() {
+        if (cursoId != null) {
+            return cursoId;
+        }
+        return curso == null ? null : curso.id();
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Referencia(Long id) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.avaliacao.dto;
+
+import java.sql.Date;
+
+/**
+ * Projeção de leitura de um aluno, montada direto pela consulta (sem carregar a entidade nem o curso).
+ * @param cursoId Id do curso do aluno, lido da chave estrangeira.
+ */
+public record AlunoResumo(Long id, String nome, String email, Date dataNascimento, Long cursoId) {
+}
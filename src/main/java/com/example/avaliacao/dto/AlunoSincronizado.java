@@ -0,0 +1,12 @@
+package com.example.avaliacao.dto;
+
+import java.sql.Date;
+
+/**
+ * Aluno alterado desde a revisão do cliente (GET /sync).
+ * @param revisao Revisão da última gravação do aluno.
+ * @param removido true para um aluno excluído (tombstone); nesse caso só o id e a revisão são preenchidos.
+ */
+public record AlunoSincronizado(Long id, String nome, String email, Date dataNascimento, Long cursoId,
+                                long revisao, boolean removido) {
+}
@@ -0,0 +1,8 @@
+package com.example.avaliacao.dto;
+
+/**
+ * Curso devolvido pela busca textual, lido do próprio índice (sem consulta ao banco).
+ * @param relevancia Pontuação BM25 do curso para a consulta; os resultados vêm em ordem decrescente.
+ */
+public record CursoEncontrado(Long id, String nomeCurso, String descricao, Integer cargaHoraria, float relevancia) {
+}
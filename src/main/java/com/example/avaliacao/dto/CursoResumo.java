@@ -0,0 +1,22 @@
+package com.example.avaliacao.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Projeção de leitura de um curso.
+ * @param alunos Alunos do curso; só é preenchido (e serializado) quando a listagem pede {@code expand=alunos}.
+ */
+public record CursoResumo(Long id, String nomeCurso, String descricao, Integer cargaHoraria,
+                          @JsonInclude(JsonInclude.Include.NON_NULL) List<AlunoResumo> alunos) {
+
+    // Usado pelas consultas JPQL ("select new ..."), que não trazem os alunos
+    public CursoResumo(Long id, String nomeCurso, String descricao, Integer cargaHoraria) {
+        this(id, nomeCurso, descricao, cargaHoraria, null);
+    }
+
+    public CursoResumo comAlunos(List<AlunoResumo> alunos) {
+        return new CursoResumo(id, nomeCurso, descricao, cargaHoraria, alunos);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.avaliacao.dto;
+
+/**
+ * Curso alterado desde a revisão do cliente (GET /sync).
+ * @param revisao Revisão da última gravação do curso.
+ * @param removido true para um curso excluído (tombstone); nesse caso só o id e a revisão são preenchidos.
+ */
+public record CursoSincronizado(Long id, String nomeCurso, String descricao, Integer cargaHoraria,
+                                long revisao, boolean removido) {
+}
@@ -0,0 +1,27 @@
+package com.example.avaliacao.dto;
+
+/**
+ * Matrículas de um curso, calculadas por uma única consulta agregada (sem carregar os alunos).
+ * @param alunos Quantidade de alunos matriculados.
+ * @param horasAluno Carga horária total do curso: cargaHoraria x alunos.
+ * @param idades Alunos por faixa etária, pela idade na data da consulta.
+ */
+public record EstatisticasCurso(Long cursoId, String nomeCurso, Integer cargaHoraria, long alunos, long horasAluno,
+                                FaixasEtarias idades) {
+
+    /**
+     * @param semDataDeNascimento Alunos sem data de nascimento informada.
+     */
+    public record FaixasEtarias(long menosDe18, long de18a24, long de25a34, long de35a49, long aPartirDe50,
+                                long semDataDeNascimento) {
+    }
+
+    // Usado pela consulta JPQL ("select new ..."), que não monta objetos aninhados e devolve as somas como Long
+    public EstatisticasCurso(Long cursoId, String nomeCurso, Integer cargaHoraria, Long alunos,
+                             Long menosDe18, Long de18a24, Long de25a34, Long de35a49, Long aPartirDe50,
+                             Long semDataDeNascimento) {
+        this(cursoId, nomeCurso, cargaHoraria, alunos,
+                cargaHoraria == null ? 0 : cargaHoraria * alunos,
+                new FaixasEtarias(menosDe18, de18a24, de25a34, de35a49, aPartirDe50, semDataDeNascimento));
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.avaliacao.dto;
+
+import java.time.Instant;
+
+/**
+ * Alteração publicada pelo outbox e listada em GET /changes.
+ * Leva só a identificação do registro: quem consome busca o estado atual (GET /alunos/{id} ou /cursos/{id}),
+ * então reaplicar o mesmo evento não causa problema.
+ * @param posicao Posição na sequência de alterações (crescente, sem lacunas); é o valor a enviar em {@code since}.
+ * @param entidade ALUNO ou CURSO.
+ * @param entidadeId Id do aluno ou curso alterado.
+ * @param operacao CRIADO, ATUALIZADO ou EXCLUIDO.
+ * @param ocorridoEm Quando a alteração foi gravada.
+ */
+public record EventoAlteracao(Long posicao, String entidade, Long entidadeId, String operacao, Instant ocorridoEm) {
+}
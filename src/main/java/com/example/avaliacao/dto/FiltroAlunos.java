@@ -0,0 +1,16 @@
+package com.example.avaliacao.dto;
+
+import java.sql.Date;
+
+/**
+ * Filtros de GET /alunos/search; os não informados (null) não restringem a busca.
+ * @param email Email exato.
+ * @param nomePrefixo Início do nome, sem diferenciar acentos e maiúsculas.
+ * @param nomeContem Trecho em qualquer posição do nome, sem diferenciar acentos e maiúsculas.
+ * @param cursoId Id do curso.
+ * @param nascidoDe Data de nascimento mínima (inclusiva).
+ * @param nascidoAte Data de nascimento máxima (inclusiva).
+ */
+public record FiltroAlunos(String email, String nomePrefixo, String nomeContem, Long cursoId,
+                           Date nascidoDe, Date nascidoAte) {
+}
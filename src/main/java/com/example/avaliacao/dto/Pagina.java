@@ -0,0 +1,24 @@
+package com.example.avaliacao.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de uma listagem paginada por cursor (keyset sobre o id).
+ * @param itens Os registros da página, em ordem crescente de id.
+ * @param proximoCursor O id a ser enviado em {@code after} para buscar a próxima página, ou null se esta for a última.
+ */
+public record Pagina<T>(List<T> itens, Long proximoCursor) {
+
+    /** Cabeçalho HTTP que carrega o cursor da próxima página nas listagens. */
+    public static final String CABECALHO_PROXIMO_CURSOR = "X-Next-Cursor";
+
+    /**
+     * Monta a página a partir dos itens lidos com limite {@code tamanho}.
+     * Se vieram menos itens do que o limite, não existe próxima página.
+     */
+    public static <T> Pagina<T> de(List<T> itens, int tamanho, Function<T, Long> cursor) {
+        Long proximo = itens.size() < tamanho ? null : cursor.apply(itens.get(itens.size() - 1));
+        return new Pagina<>(itens, proximo);
+    }
+}
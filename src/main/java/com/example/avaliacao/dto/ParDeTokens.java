@@ -0,0 +1,9 @@
+package com.example.avaliacao.dto;
+
+/**
+ * Tokens emitidos por uma renovação.
+ * @param accessToken Novo JWT de acesso.
+ * @param refreshToken Refresh token que substitui o apresentado.
+ */
+public record ParDeTokens(String accessToken, String refreshToken) {
+}
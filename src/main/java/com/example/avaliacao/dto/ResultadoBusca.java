@@ -0,0 +1,13 @@
+package com.example.avaliacao.dto;
+
+import java.util.List;
+
+/**
+ * Página de uma busca ordenada por relevância (paginação por número de página, não por cursor).
+ * @param itens Os resultados da página.
+ * @param total Quantos documentos atendem à consulta.
+ * @param pagina Número da página, a partir de 0.
+ * @param indiceCompleto false enquanto o índice ainda está sendo reconstruído na inicialização.
+ */
+public record ResultadoBusca<T>(List<T> itens, long total, int pagina, boolean indiceCompleto) {
+}
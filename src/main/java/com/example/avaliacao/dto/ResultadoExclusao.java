@@ -0,0 +1,9 @@
+package com.example.avaliacao.dto;
+
+/**
+ * Resultado da exclusão em lote de alunos.
+ * @param solicitados Quantos ids distintos foram enviados.
+ * @param excluidos Quantos existiam e foram excluídos.
+ */
+public record ResultadoExclusao(int solicitados, int excluidos) {
+}
@@ -0,0 +1,37 @@
+package com.example.avaliacao.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Relatório da importação em lote: totais e o resultado de cada linha, na ordem em que foram enviadas.
+ */
+public record ResultadoImportacao(int total, int importados, int rejeitados, List<Linha> linhas) {
+
+    public static final String IMPORTADO = "IMPORTADO";
+    public static final String REJEITADO = "REJEITADO";
+
+    public static ResultadoImportacao de(List<Linha> linhas) {
+        int importados = (int) linhas.stream().filter(linha -> IMPORTADO.equals(linha.status())).count();
+        return new ResultadoImportacao(linhas.size(), importados, linhas.size() - importados, linhas);
+    }
+
+    /**
+     * @param linha Posição do registro no corpo enviado (1 = primeiro elemento do array ou primeira linha de dados do CSV).
+     * @param id Id gerado, quando importado.
+     * @param status {@link #IMPORTADO} ou {@link #REJEITADO}.
+     * @param erro Motivo da rejeição.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Linha(int linha, Long id, String status, String erro) {
+
+        public static Linha importado(int linha, Long id) {
+            return new Linha(linha, id, IMPORTADO, null);
+        }
+
+        public static Linha rejeitado(int linha, String erro) {
+            return new Linha(linha, null, REJEITADO, erro);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.avaliacao.dto;
+
+import java.util.List;
+
+/**
+ * Uma página de GET /sync: cursos e alunos gravados depois da revisão do cliente, em ordem de revisão.
+ * @param revisao Revisão a guardar e enviar em {@code since} na próxima sincronização, depois da última página.
+ * @param cursos Cursos alterados ou excluídos.
+ * @param alunos Alunos alterados ou excluídos.
+ * @param proximoCursor Valor de {@code after} para a próxima página desta sincronização, ou null se esta for a última.
+ */
+public record Sincronizacao(long revisao, List<CursoSincronizado> cursos, List<AlunoSincronizado> alunos,
+                            String proximoCursor) {
+}
@@ -0,0 +1,7 @@
+package com.example.avaliacao.dto;
+
+/**
+ * Id e versão de um aluno do curso, usados na ETag de GET /cursos/{id}.
+ */
+public record VersaoAluno(Long id, Long versao) {
+}
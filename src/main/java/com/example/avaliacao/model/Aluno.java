@@ -2,28 +2,102 @@ package com.example.avaliacao.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.sql.Date;
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 @Entity
+// Índices usados por GET /alunos/search (AlunoBuscaRepositoryImpl): email exato, prefixo do nome normalizado,
+// curso com faixa de nascimento e faixa de nascimento sozinha; e o de GET /sync, pela revisão
+@Table(indexes = {
+        @Index(name = "idx_aluno_email", columnList = "email"),
+        @Index(name = "idx_aluno_nome_normalizado", columnList = "nome_normalizado"),
+        @Index(name = "idx_aluno_curso_nascimento", columnList = "curso_id, data_nascimento"),
+        @Index(name = "idx_aluno_nascimento", columnList = "data_nascimento"),
+        @Index(name = "idx_aluno_revisao", columnList = "revisao, id")
+})
+// Alunos excluídos viram tombstones (removido = true) e somem de todas as consultas JPA; só GET /sync os lê
+@SQLRestriction("removido = false")
 @Data 
 @NoArgsConstructor
-@AllArgsConstructor
+// O UPDATE leva só as colunas que mudaram; sem mudança nenhuma, o Hibernate nem chega a emitir o UPDATE
+@DynamicUpdate
 
 public class Aluno {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequência com blocos de 50 ids: o Hibernate não precisa de um round-trip por insert e pode agrupá-los em batch JDBC
+    // (com IDENTITY o batch de inserts fica desligado)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "aluno_seq")
+    @SequenceGenerator(name = "aluno_seq", sequenceName = "aluno_seq", allocationSize = 50)
 
     private Long id;
     private String nome;
+
+    // Nome sem acentos e em minúsculas, mantido por setNome: a busca por prefixo vira um range scan no índice
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    @Column(name = "nome_normalizado")
+    private String nomeNormalizado;
+
     private String email;
+    @Column(name = "data_nascimento")
     private Date dataNascimento;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "curso_id")
     @JsonBackReference
     private Curso curso;
 
-}
\ No newline at end of file
+    // Lock otimista: incrementada a cada UPDATE e exposta como ETag; o cliente não consegue alterá-la pelo corpo
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long versao;
+
+    // Posição no outbox da última alteração, gravada pelo OutboxRelay ao numerar o evento; GET /sync devolve as
+    // linhas com revisão maior que a do cliente. Nunca escrita pelo Hibernate (nem exposta: no cache L2 ficaria velha)
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private long revisao;
+
+    @JsonIgnore
+    @ColumnDefault("false")
+    @Column(nullable = false)
+    private boolean removido;
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+
+    public Aluno(Long id, String nome, String email, Date dataNascimento, Curso curso) {
+        this.id = id;
+        setNome(nome);
+        this.email = email;
+        this.dataNascimento = dataNascimento;
+        this.curso = curso;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+        this.nomeNormalizado = normalizar(nome);
+    }
+
+    /**
+     * Forma usada para gravar e buscar nomes: sem acentos, em minúsculas e sem espaços nas pontas ("  José" -> "jose").
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        String semAcentos = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return semAcentos.toLowerCase(Locale.ROOT).trim();
+    }
+
+}
@@ -2,15 +2,29 @@ package com.example.avaliacao.model;
 
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
 
 @Entity
+@Table(indexes = @Index(name = "idx_curso_revisao", columnList = "revisao, id"))
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
+// Cursos mudam pouco e são lidos o tempo todo: ficam no cache de segundo nível, atualizado pelo próprio Hibernate a cada gravação
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "cursos")
+// O UPDATE leva só as colunas que mudaram; sem mudança nenhuma, o Hibernate nem chega a emitir o UPDATE
+@DynamicUpdate
+// Cursos excluídos viram tombstones (removido = true) e somem de todas as consultas JPA; só GET /sync os lê
+@SQLRestriction("removido = false")
 
 public class Curso {
 
@@ -26,4 +40,29 @@ public class Curso {
     @JsonManagedReference
     private List<Aluno> alunos;
 
-}
\ No newline at end of file
+    // Lock otimista: incrementada a cada UPDATE e exposta como ETag; o cliente não consegue alterá-la pelo corpo
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long versao;
+
+    // Posição no outbox da última alteração, gravada pelo OutboxRelay ao numerar o evento; GET /sync devolve as
+    // linhas com revisão maior que a do cliente. Nunca escrita pelo Hibernate (nem exposta: no cache L2 ficaria velha)
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private long revisao;
+
+    @JsonIgnore
+    @ColumnDefault("false")
+    @Column(nullable = false)
+    private boolean removido;
+
+    public Curso(Long id, String nomeCurso, String descricao, Integer cargaHoraria, List<Aluno> alunos) {
+        this.id = id;
+        this.nomeCurso = nomeCurso;
+        this.descricao = descricao;
+        this.cargaHoraria = cargaHoraria;
+        this.alunos = alunos;
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.example.avaliacao.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Alteração de um aluno ou curso, gravada na mesma transação que a própria alteração (transactional outbox).
+ * O {@link com.example.avaliacao.service.OutboxRelay} numera as linhas já confirmadas ({@code posicao}) e as publica
+ * no destino configurado; GET /changes lê a mesma tabela pela posição.
+ */
+@Entity
+@Table(name = "outbox", indexes = {
+        // Único: também impede que dois relays concorrentes numerem a mesma posição
+        @Index(name = "idx_outbox_posicao", columnList = "posicao", unique = true),
+        @Index(name = "idx_outbox_publicado_posicao", columnList = "publicado, posicao")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoOutbox {
+
+    public static final String ALUNO = "ALUNO";
+    public static final String CURSO = "CURSO";
+
+    public static final String CRIADO = "CRIADO";
+    public static final String ATUALIZADO = "ATUALIZADO";
+    public static final String EXCLUIDO = "EXCLUIDO";
+
+    @Id
+    // IDENTITY: as gravações em massa usam INSERT ... SELECT, que não passa pelo gerador do Hibernate
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(nullable = false, length = 16)
+    private String entidade; // ALUNO ou CURSO
+    @Column(name = "entidade_id", nullable = false)
+    private Long entidadeId;
+    @Column(nullable = false, length = 16)
+    private String operacao; // CRIADO, ATUALIZADO ou EXCLUIDO
+    @Column(name = "ocorrido_em", nullable = false)
+    private Instant ocorridoEm;
+    private Long posicao; // Null até o relay numerar a linha, em ordem de commit
+    @Column(nullable = false)
+    private boolean publicado;
+}
@@ -0,0 +1,37 @@
+package com.example.avaliacao.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Refresh token emitido no login. Só o SHA-256 do token é gravado: quem lê a tabela não consegue renovar sessões.
+ * Cada renovação marca o token como usado e emite outro na mesma família; apresentar de novo um token já usado
+ * revoga a família inteira (o token vazou ou foi copiado).
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_familia", columnList = "familia"),
+        @Index(name = "idx_refresh_tokens_expira_em", columnList = "expiraEm")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(unique = true, nullable = false, length = 32)
+    private byte[] hash; // SHA-256 do token; o índice único é o caminho da renovação
+    @Column(nullable = false)
+    private String username;
+    @Column(nullable = false)
+    private long familia; // Sorteada no login e herdada a cada renovação
+    @Column(nullable = false)
+    private Instant expiraEm;
+    @Column(nullable = false)
+    private boolean usado;
+}
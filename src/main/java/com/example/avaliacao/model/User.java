@@ -1,5 +1,6 @@
 package com.example.avaliacao.model;
 
+import com.example.avaliacao.service.UserCacheInvalidationListener;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -7,6 +8,7 @@ import jakarta.persistence.*;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserCacheInvalidationListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
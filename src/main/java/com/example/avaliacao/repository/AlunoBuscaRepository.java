@@ -0,0 +1,21 @@
+package com.example.avaliacao.repository;
+
+import com.example.avaliacao.dto.AlunoResumo;
+import com.example.avaliacao.dto.FiltroAlunos;
+
+import java.util.List;
+
+/**
+ * Fragmento do {@link AlunoRepository} com a busca por filtros combináveis, montada com a Criteria API
+ * só com os predicados informados (uma consulta derivada ou JPQL fixa teria que tratar cada combinação de nulos).
+ */
+public interface AlunoBuscaRepository {
+
+    /**
+     * @param filtro Filtros da busca.
+     * @param aposId Cursor: só alunos com id maior que este.
+     * @param limite Máximo de resultados.
+     * @return Projeções em ordem crescente de id.
+     */
+    List<AlunoResumo> buscarResumos(FiltroAlunos filtro, long aposId, int limite);
+}
@@ -0,0 +1,69 @@
+package com.example.avaliacao.repository;
+
+import com.example.avaliacao.dto.AlunoResumo;
+import com.example.avaliacao.dto.FiltroAlunos;
+import com.example.avaliacao.model.Aluno;
+import com.example.avaliacao.model.Curso;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Encontrado pelo Spring Data pelo sufixo Impl e combinado ao AlunoRepository
+class AlunoBuscaRepositoryImpl implements AlunoBuscaRepository {
+
+    private static final char ESCAPE = '\\';
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AlunoResumo> buscarResumos(FiltroAlunos filtro, long aposId, int limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AlunoResumo> query = cb.createQuery(AlunoResumo.class);
+        Root<Aluno> aluno = query.from(Aluno.class);
+        Join<Aluno, Curso> curso = aluno.join("curso", JoinType.LEFT);
+
+        List<Predicate> predicados = new ArrayList<>();
+        predicados.add(cb.greaterThan(aluno.get("id"), aposId));
+        if (filtro.email() != null) {
+            predicados.add(cb.equal(aluno.get("email"), filtro.email()));
+        }
+        // Prefixo: LIKE 'abc%' sobre a coluna normalizada usa o índice (range scan)
+        if (filtro.nomePrefixo() != null) {
+            predicados.add(cb.like(aluno.get("nomeNormalizado"), escapar(Aluno.normalizar(filtro.nomePrefixo())) + "%", ESCAPE));
+        }
+        // Trecho em qualquer posição não tem como usar o índice B-tree: percorre o índice ou as linhas já filtradas
+        if (filtro.nomeContem() != null) {
+            predicados.add(cb.like(aluno.get("nomeNormalizado"), "%" + escapar(Aluno.normalizar(filtro.nomeContem())) + "%", ESCAPE));
+        }
+        if (filtro.cursoId() != null) {
+            // Compara a chave estrangeira da própria tabela aluno, sem depender do join
+            predicados.add(cb.equal(aluno.get("curso").get("id"), filtro.cursoId()));
+        }
+        if (filtro.nascidoDe() != null) {
+            predicados.add(cb.greaterThanOrEqualTo(aluno.get("dataNascimento"), filtro.nascidoDe()));
+        }
+        if (filtro.nascidoAte() != null) {
+            predicados.add(cb.lessThanOrEqualTo(aluno.get("dataNascimento"), filtro.nascidoAte()));
+        }
+
+        query.select(cb.construct(AlunoResumo.class, aluno.get("id"), aluno.get("nome"), aluno.get("email"),
+                        aluno.get("dataNascimento"), curso.get("id")))
+                .where(predicados.toArray(Predicate[]::new))
+                .orderBy(cb.asc(aluno.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limite).getResultList();
+    }
+
+    // O texto do usuário entra no LIKE como literal: % e _ não viram curingas
+    private static String escapar(String texto) {
+        return texto.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,8 +1,56 @@
 package com.example.avaliacao.repository;
 
+import com.example.avaliacao.dto.AlunoResumo;
+import com.example.avaliacao.dto.VersaoAluno;
 import com.example.avaliacao.model.Aluno;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface AlunoRepository extends JpaRepository<Aluno, Long> {
-    
-}
\ No newline at end of file
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface AlunoRepository extends JpaRepository<Aluno, Long>, AlunoBuscaRepository {
+
+    // Paginação por cursor: usa o índice da chave primária em vez de OFFSET
+    @Query("select new com.example.avaliacao.dto.AlunoResumo(a.id, a.nome, a.email, a.dataNascimento, c.id) "
+            + "from Aluno a left join a.curso c where a.id > :aposId order by a.id")
+    List<AlunoResumo> listarResumos(@Param("aposId") Long aposId, Pageable pagina);
+
+    // Alunos de vários cursos em uma única consulta (expansão de GET /cursos?expand=alunos)
+    @Query("select new com.example.avaliacao.dto.AlunoResumo(a.id, a.nome, a.email, a.dataNascimento, c.id) "
+            + "from Aluno a join a.curso c where c.id in :cursoIds order by a.id")
+    List<AlunoResumo> listarResumosPorCursos(@Param("cursoIds") Collection<Long> cursoIds);
+
+    // Cursor JDBC para o modo streaming; deve ser consumido dentro de uma transação
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.example.avaliacao.dto.AlunoResumo(a.id, a.nome, a.email, a.dataNascimento, c.id) "
+            + "from Aluno a left join a.curso c order by a.id")
+    Stream<AlunoResumo> streamResumos();
+
+    // Pares (id, versão) em ordem para a ETag do curso: evita carregar e serializar os alunos só para saber se mudaram
+    @Query("select new com.example.avaliacao.dto.VersaoAluno(a.id, a.versao) from Aluno a where a.curso.id = :cursoId order by a.id")
+    List<VersaoAluno> listarVersoesPorCurso(@Param("cursoId") Long cursoId);
+
+    // Exclusões em SQL direto (sem carregar as entidades): marcam a linha como tombstone; a revisão vem do evento
+    // de exclusão no outbox, quando o OutboxRelay o numerar.
+    // O retorno é o número de linhas afetadas; alunos já removidos não contam. O tombstone perde o curso, que pode ser
+    // excluído depois sem esbarrar na chave estrangeira
+    @Modifying
+    @Query("update Aluno a set a.removido = true, a.curso = null where a.id = :id and a.removido = false")
+    int removerPorId(@Param("id") Long id);
+
+    @Modifying
+    @Query("update Aluno a set a.removido = true, a.curso = null where a.id in :ids and a.removido = false")
+    int removerPorIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update Aluno a set a.removido = true, a.curso = null where a.curso.id = :cursoId and a.removido = false")
+    int removerPorCurso(@Param("cursoId") Long cursoId);
+}
@@ -1,7 +1,62 @@
 package com.example.avaliacao.repository;
 
+import com.example.avaliacao.dto.CursoResumo;
+import com.example.avaliacao.dto.EstatisticasCurso;
 import com.example.avaliacao.model.Curso;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.sql.Date;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface CursoRepository extends JpaRepository<Curso, Long> {
-}
\ No newline at end of file
+
+    // Paginação por cursor: usa o índice da chave primária em vez de OFFSET.
+    // O resultado vai para o cache de consultas, invalidado a cada escrita na tabela curso
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select new com.example.avaliacao.dto.CursoResumo(c.id, c.nomeCurso, c.descricao, c.cargaHoraria) "
+            + "from Curso c where c.id > :aposId order by c.id")
+    List<CursoResumo> listarResumos(@Param("aposId") Long aposId, Pageable pagina);
+
+    // Cursor JDBC para o modo streaming; deve ser consumido dentro de uma transação
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.example.avaliacao.dto.CursoResumo(c.id, c.nomeCurso, c.descricao, c.cargaHoraria) "
+            + "from Curso c order by c.id")
+    Stream<CursoResumo> streamResumos();
+
+    // Matrículas por curso em uma única passada agregada: contagem e faixas etárias (somas de CASE sobre a data de
+    // nascimento, comparada às datas-limite de cada idade). O left join mantém os cursos sem alunos, com tudo zerado;
+    // a condição no "on" deixa de fora os alunos removidos sem descartar o curso
+    @Query("select new com.example.avaliacao.dto.EstatisticasCurso(c.id, c.nomeCurso, c.cargaHoraria, count(a), "
+            + "sum(case when a.dataNascimento > :limite18 then 1L else 0L end), "
+            + "sum(case when a.dataNascimento <= :limite18 and a.dataNascimento > :limite25 then 1L else 0L end), "
+            + "sum(case when a.dataNascimento <= :limite25 and a.dataNascimento > :limite35 then 1L else 0L end), "
+            + "sum(case when a.dataNascimento <= :limite35 and a.dataNascimento > :limite50 then 1L else 0L end), "
+            + "sum(case when a.dataNascimento <= :limite50 then 1L else 0L end), "
+            + "sum(case when a.id is not null and a.dataNascimento is null then 1L else 0L end)) "
+            + "from Curso c left join c.alunos a on a.removido = false where c.id > :aposId "
+            + "group by c.id, c.nomeCurso, c.cargaHoraria order by c.id")
+    List<EstatisticasCurso> calcularEstatisticas(@Param("aposId") Long aposId,
+                                                 @Param("limite18") Date limite18,
+                                                 @Param("limite25") Date limite25,
+                                                 @Param("limite35") Date limite35,
+                                                 @Param("limite50") Date limite50,
+                                                 Pageable pagina);
+
+    // Quais dos ids informados existem, em uma única consulta (validação da importação em lote)
+    @Query("select c.id from Curso c where c.id in :ids")
+    List<Long> buscarIdsExistentes(@Param("ids") Collection<Long> ids);
+
+    // Exclusão em SQL direto, como tombstone; os alunos do curso devem ser removidos antes (AlunoRepository.removerPorCurso)
+    @Modifying
+    @Query("update Curso c set c.removido = true where c.id = :id and c.removido = false")
+    int removerPorId(@Param("id") Long id);
+}
@@ -0,0 +1,41 @@
+package com.example.avaliacao.repository;
+
+import com.example.avaliacao.dto.EventoAlteracao;
+import com.example.avaliacao.model.EventoOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface EventoOutboxRepository extends JpaRepository<EventoOutbox, Long> {
+
+    // Feed de GET /changes: só linhas já numeradas pelo relay, pelo índice da posição
+    @Query("select new com.example.avaliacao.dto.EventoAlteracao(e.posicao, e.entidade, e.entidadeId, e.operacao, e.ocorridoEm) "
+            + "from EventoOutbox e where e.posicao > :desde order by e.posicao")
+    List<EventoAlteracao> listarDesde(@Param("desde") Long desde, Pageable pagina);
+
+    @Query("select coalesce(max(e.posicao), 0L) from EventoOutbox e")
+    long ultimaPosicao();
+
+    // Exclusões e importações em massa: uma linha por aluno em um único INSERT ... SELECT, qualquer que seja a quantidade.
+    // flushAutomatically: os alunos recém-gravados pelo saveAll precisam estar no banco antes do SELECT
+    @Modifying(flushAutomatically = true)
+    @Query("insert into EventoOutbox (entidade, entidadeId, operacao, ocorridoEm, publicado) "
+            + "select 'ALUNO', a.id, 'CRIADO', current_instant, false from Aluno a where a.id in :ids")
+    int registrarCriacaoDeAlunos(@Param("ids") Collection<Long> ids);
+
+    // Antes do DELETE: ids inexistentes não geram evento
+    @Modifying
+    @Query("insert into EventoOutbox (entidade, entidadeId, operacao, ocorridoEm, publicado) "
+            + "select 'ALUNO', a.id, 'EXCLUIDO', current_instant, false from Aluno a where a.id in :ids")
+    int registrarExclusaoDeAlunos(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("insert into EventoOutbox (entidade, entidadeId, operacao, ocorridoEm, publicado) "
+            + "select 'ALUNO', a.id, 'EXCLUIDO', current_instant, false from Aluno a where a.curso.id = :cursoId")
+    int registrarExclusaoDosAlunosDoCurso(@Param("cursoId") Long cursoId);
+}
@@ -0,0 +1,30 @@
+package com.example.avaliacao.repository;
+
+import com.example.avaliacao.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    Optional<RefreshToken> findByHash(byte[] hash);
+
+    // Condicional: entre duas renovações simultâneas com o mesmo token, só uma consegue marcá-lo
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.usado = true WHERE r.id = :id AND r.usado = false")
+    int marcarComoUsado(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.familia = :familia")
+    int revogarFamilia(@Param("familia") long familia);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.expiraEm < :limite")
+    int excluirExpirados(@Param("limite") Instant limite);
+}
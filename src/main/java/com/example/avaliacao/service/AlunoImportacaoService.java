@@ -0,0 +1,305 @@
+package com.example.avaliacao.service;
+
+import com.example.avaliacao.dto.AlunoImportacao;
+import com.example.avaliacao.dto.ResultadoImportacao;
+import com.example.avaliacao.dto.ResultadoImportacao.Linha;
+import com.example.avaliacao.model.Aluno;
+import com.example.avaliacao.repository.AlunoRepository;
+import com.example.avaliacao.repository.CursoRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Importação em lote de alunos (POST /alunos/bulk).
+ * O corpo é lido em streaming, os cursos referenciados são validados em uma única consulta e os alunos
+ * são gravados em transações de {@code alunos.importacao.tamanho-lote} registros, com inserts em batch JDBC.
+ */
+@Service
+public class AlunoImportacaoService {
+
+    private static final Logger log = LoggerFactory.getLogger(AlunoImportacaoService.class);
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${alunos.importacao.tamanho-lote:1000}")
+    private int tamanhoLote;
+
+    /**
+     * Importa alunos enviados como um array JSON.
+     * @param entrada Corpo da requisição; cada elemento é lido e convertido isoladamente.
+     * @return O relatório por linha.
+     * @throws IllegalArgumentException Se o corpo não for um array JSON bem formado.
+     */
+    public ResultadoImportacao importarJson(InputStream entrada) {
+        List<LinhaLida> lidas = new ArrayList<>();
+        try (JsonParser parser = objectMapper.createParser(entrada)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("O corpo deve ser um array JSON de alunos.");
+            }
+            int linha = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new IllegalArgumentException("JSON inválido: array não foi fechado.");
+                }
+                linha++;
+                // Um elemento por vez: o erro de conversão de um registro não interrompe a leitura dos demais
+                JsonNode elemento = parser.readValueAsTree();
+                try {
+                    lidas.add(LinhaLida.valida(linha, objectMapper.treeToValue(elemento, AlunoImportacao.class)));
+                } catch (JsonProcessingException e) {
+                    lidas.add(LinhaLida.invalida(linha, "Registro inválido: " + e.getOriginalMessage()));
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON inválido: " + e.getOriginalMessage(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return importar(lidas);
+    }
+
+    /**
+     * Importa alunos enviados como CSV (UTF-8, separado por vírgula).
+     * A primeira linha é o cabeçalho, com as colunas {@code nome}, {@code email}, {@code dataNascimento} (yyyy-MM-dd)
+     * e {@code cursoId}, em qualquer ordem; só {@code nome} é obrigatória.
+     * @param entrada Corpo da requisição, lido linha a linha.
+     * @return O relatório por linha.
+     * @throws IllegalArgumentException Se o cabeçalho estiver ausente ou não tiver a coluna {@code nome}.
+     */
+    public ResultadoImportacao importarCsv(InputStream entrada) {
+        List<LinhaLida> lidas = new ArrayList<>();
+        try (BufferedReader leitor = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8))) {
+            String cabecalho = leitor.readLine();
+            if (cabecalho == null) {
+                throw new IllegalArgumentException("CSV vazio: o cabeçalho é obrigatório.");
+            }
+            Map<String, Integer> colunas = lerCabecalho(cabecalho);
+            int linha = 0;
+            String texto;
+            while ((texto = leitor.readLine()) != null) {
+                if (texto.isBlank()) {
+                    continue;
+                }
+                linha++;
+                try {
+                    lidas.add(LinhaLida.valida(linha, converterCsv(dividirCsv(texto), colunas)));
+                } catch (IllegalArgumentException e) {
+                    lidas.add(LinhaLida.invalida(linha, "Registro inválido: " + e.getMessage()));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return importar(lidas);
+    }
+
+    private ResultadoImportacao importar(List<LinhaLida> lidas) {
+        Set<Long> cursosExistentes = buscarCursosExistentes(lidas);
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+
+        Linha[] resultado = new Linha[lidas.size()];
+        List<Integer> lote = new ArrayList<>(Math.min(tamanhoLote, lidas.size()));
+        for (int i = 0; i < lidas.size(); i++) {
+            LinhaLida lida = lidas.get(i);
+            if (lida.erro() != null) {
+                resultado[i] = Linha.rejeitado(lida.linha(), lida.erro());
+                continue;
+            }
+            Long cursoId = lida.aluno().idDoCurso();
+            if (cursoId != null && !cursosExistentes.contains(cursoId)) {
+                resultado[i] = Linha.rejeitado(lida.linha(), "Curso não encontrado: " + cursoId);
+                continue;
+            }
+            lote.add(i);
+            if (lote.size() == tamanhoLote) {
+                gravarLote(transacao, lidas, lote, resultado);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            gravarLote(transacao, lidas, lote, resultado);
+        }
+
+        ResultadoImportacao relatorio = ResultadoImportacao.de(Arrays.asList(resultado));
+        log.info("Importação de alunos: {} recebidos, {} importados, {} rejeitados",
+                relatorio.total(), relatorio.importados(), relatorio.rejeitados());
+        return relatorio;
+    }
+
+    // Todos os cursos citados no arquivo são conferidos de uma vez, em vez de um findById por aluno
+    private Set<Long> buscarCursosExistentes(List<LinhaLida> lidas) {
+        Set<Long> referenciados = new HashSet<>();
+        for (LinhaLida lida : lidas) {
+            if (lida.aluno() != null && lida.aluno().idDoCurso() != null) {
+                referenciados.add(lida.aluno().idDoCurso());
+            }
+        }
+        if (referenciados.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(cursoRepository.buscarIdsExistentes(referenciados));
+    }
+
+    // Uma transação por lote: uma falha só descarta o próprio lote e o contexto de persistência não cresce com o arquivo
+    private void gravarLote(TransactionTemplate transacao, List<LinhaLida> lidas, List<Integer> lote, Linha[] resultado) {
+        List<Aluno> alunos = new ArrayList<>(lote.size());
+        try {
+            transacao.executeWithoutResult(status -> {
+                for (int indice : lote) {
+                    alunos.add(novoAluno(lidas.get(indice).aluno()));
+                }
+                alunoRepository.saveAll(alunos);
+                outboxService.registrarCriacaoDeAlunos(alunos.stream().map(Aluno::getId).toList());
+            });
+            for (int i = 0; i < lote.size(); i++) {
+                int indice = lote.get(i);
+                resultado[indice] = Linha.importado(lidas.get(indice).linha(), alunos.get(i).getId());
+            }
+        } catch (RuntimeException e) {
+            String motivo = "Falha ao gravar o lote: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            log.warn("Importação de alunos: lote de {} registros descartado. {}", lote.size(), motivo);
+            for (int indice : lote) {
+                resultado[indice] = Linha.rejeitado(lidas.get(indice).linha(), motivo);
+            }
+        }
+    }
+
+    private Aluno novoAluno(AlunoImportacao dados) {
+        Long cursoId = dados.idDoCurso();
+        // O curso já foi validado: basta a referência para a FK, sem carregar a entidade
+        return new Aluno(null, dados.nome(), dados.email(), dados.dataNascimento(),
+                cursoId == null ? null : cursoRepository.getReferenceById(cursoId));
+    }
+
+    private static Map<String, Integer> lerCabecalho(String cabecalho) {
+        if (cabecalho.startsWith("\uFEFF")) { // BOM do Excel
+            cabecalho = cabecalho.substring(1);
+        }
+        Map<String, Integer> colunas = new HashMap<>();
+        List<String> nomes = dividirCsv(cabecalho);
+        for (int i = 0; i < nomes.size(); i++) {
+            colunas.put(nomes.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!colunas.containsKey("nome")) {
+            throw new IllegalArgumentException("CSV inválido: o cabeçalho deve ter a coluna 'nome'.");
+        }
+        return colunas;
+    }
+
+    private static AlunoImportacao converterCsv(List<String> valores, Map<String, Integer> colunas) {
+        String dataNascimento = valor(valores, colunas, "datanascimento");
+        String cursoId = valor(valores, colunas, "cursoid");
+        return new AlunoImportacao(
+                valor(valores, colunas, "nome"),
+                valor(valores, colunas, "email"),
+                dataNascimento == null ? null : converterData(dataNascimento),
+                cursoId == null ? null : converterId(cursoId),
+                null);
+    }
+
+    private static Date converterData(String valor) {
+        try {
+            return Date.valueOf(valor);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("dataNascimento deve estar no formato yyyy-MM-dd: " + valor);
+        }
+    }
+
+    private static Long converterId(String valor) {
+        try {
+            return Long.valueOf(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("cursoId deve ser numérico: " + valor);
+        }
+    }
+
+    private static String valor(List<String> valores, Map<String, Integer> colunas, String coluna) {
+        Integer indice = colunas.get(coluna);
+        if (indice == null || indice >= valores.size()) {
+            return null;
+        }
+        String valor = valores.get(indice).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    // Separa uma linha CSV por vírgulas, respeitando campos entre aspas ("" dentro das aspas vira ")
+    private static List<String> dividirCsv(String linha) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    campo.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+
+    private record LinhaLida(int linha, AlunoImportacao aluno, String erro) {
+
+        static LinhaLida valida(int linha, AlunoImportacao aluno) {
+            return new LinhaLida(linha, aluno, null);
+        }
+
+        static LinhaLida invalida(int linha, String erro) {
+            return new LinhaLida(linha, null, erro);
+        }
+    }
+}
@@ -1,25 +1,52 @@
 package com.example.avaliacao.service;
 
+import com.example.avaliacao.dto.AlunoResumo;
+import com.example.avaliacao.dto.FiltroAlunos;
+import com.example.avaliacao.dto.Pagina;
 import com.example.avaliacao.model.Aluno;
 import com.example.avaliacao.model.Curso;
+import com.example.avaliacao.model.EventoOutbox;
 import com.example.avaliacao.repository.AlunoRepository;
 import com.example.avaliacao.repository.CursoRepository;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class AlunoService {
-    
+
+    // Ids por DELETE ... IN (...) na exclusão em lote; mantém o comando abaixo do limite de parâmetros dos drivers
+    private static final int LOTE_EXCLUSAO = 1000;
+
     @Autowired
     private AlunoRepository alunoRepository;
 
     @Autowired
     private CursoRepository cursoRepository;
 
+    // Cada gravação registra o seu evento de alteração na mesma transação (GET /changes)
+    @Autowired
+    private OutboxService outboxService;
+
+    @Value("${paginacao.tamanho-padrao:50}")
+    private int tamanhoPadrao;
+
+    @Value("${paginacao.tamanho-maximo:500}")
+    private int tamanhoMaximo;
+
+    @Transactional
     public Aluno salvarAluno (Aluno aluno){
         if (aluno.getCurso() != null) {
             Optional<Curso> curso = cursoRepository.findById(aluno.getCurso().getId());
@@ -28,31 +55,147 @@ public class AlunoService {
             }
             aluno.setCurso(curso.get());
         }
-        return alunoRepository.save(aluno);
+        Aluno salvo = alunoRepository.save(aluno);
+        outboxService.registrar(EventoOutbox.ALUNO, salvo.getId(), EventoOutbox.CRIADO);
+        return salvo;
     }
 
-    public List<Aluno> listarAlunos() {
-        return alunoRepository.findAll();
+    /**
+     * Lista uma página de alunos a partir do cursor informado.
+     * @param aposId Id do último aluno da página anterior (null para a primeira página).
+     * @param tamanho Tamanho de página solicitado; limitado a {@code paginacao.tamanho-maximo}.
+     * @return A página e o cursor da próxima, se houver.
+     */
+    public Pagina<AlunoResumo> listarAlunos(Long aposId, Integer tamanho) {
+        int limite = limitarTamanho(tamanho);
+        List<AlunoResumo> alunos = alunoRepository.listarResumos(aposId == null ? 0L : aposId, PageRequest.ofSize(limite));
+        return Pagina.de(alunos, limite, AlunoResumo::id);
+    }
+
+    /**
+     * Busca alunos pelos filtros informados, com a mesma paginação por cursor da listagem.
+     * @param filtro Filtros combináveis; campos null são ignorados.
+     * @param aposId Id do último aluno da página anterior (null para a primeira página).
+     * @param tamanho Tamanho de página solicitado; limitado a {@code paginacao.tamanho-maximo}.
+     * @throws IllegalArgumentException Se a faixa de nascimento estiver invertida.
+     */
+    public Pagina<AlunoResumo> buscarAlunos(FiltroAlunos filtro, Long aposId, Integer tamanho) {
+        if (filtro.nascidoDe() != null && filtro.nascidoAte() != null && filtro.nascidoDe().after(filtro.nascidoAte())) {
+            throw new IllegalArgumentException("A data inicial de nascimento deve ser anterior ou igual à final.");
+        }
+        int limite = limitarTamanho(tamanho);
+        List<AlunoResumo> alunos = alunoRepository.buscarResumos(filtro, aposId == null ? 0L : aposId, limite);
+        return Pagina.de(alunos, limite, AlunoResumo::id);
+    }
+
+    /**
+     * Percorre todos os alunos pelo cursor JDBC, entregando um por vez ao consumidor.
+     * As linhas são projeções (não entidades gerenciadas), então a memória não cresce com o tamanho da tabela.
+     * @param consumidor Recebe cada aluno, em ordem de id.
+     */
+    @Transactional(readOnly = true)
+    public void percorrerAlunos(Consumer<AlunoResumo> consumidor) {
+        try (Stream<AlunoResumo> alunos = alunoRepository.streamResumos()) {
+            alunos.forEach(consumidor);
+        }
     }
 
     public Optional<Aluno> buscarAlunoPorId(Long id) {
         return alunoRepository.findById(id);
     }
 
-    public Optional<Aluno> atualizarAluno(Long id, Aluno novoAluno) {
+    /**
+     * Atualiza um aluno, opcionalmente condicionado à versão que o cliente leu.
+     * Só as colunas alteradas entram no UPDATE e, se nada mudou, não há UPDATE nem nova versão.
+     * @param versaoEsperada Versão exigida (If-Match); null para atualizar qualquer que seja a versão atual.
+     * @return O aluno atualizado, ou vazio se não existir.
+     * @throws VersaoDesatualizadaException Se a versão atual não for a esperada.
+     * @throws IllegalArgumentException Se o novo curso não existir (ou tiver sido excluído).
+     */
+    @Transactional
+    public Optional<Aluno> atualizarAluno(Long id, Aluno novoAluno, Long versaoEsperada) {
         return alunoRepository.findById(id).map(aluno -> {
+            if (versaoEsperada != null && !versaoEsperada.equals(aluno.getVersao())) {
+                throw new VersaoDesatualizadaException(aluno.getVersao());
+            }
+            if (!alterado(aluno, novoAluno)) {
+                return aluno;
+            }
+            Curso curso = cursoDaAtualizacao(aluno, novoAluno.getCurso());
             aluno.setNome(novoAluno.getNome());
             aluno.setEmail(novoAluno.getEmail());
             aluno.setDataNascimento(novoAluno.getDataNascimento());
-            aluno.setCurso(novoAluno.getCurso());
-            return alunoRepository.save(aluno);
+            aluno.setCurso(curso);
+            outboxService.registrar(EventoOutbox.ALUNO, id, EventoOutbox.ATUALIZADO);
+            // Entidade gerenciada: o dirty checking grava (e incrementa a versão) no commit
+            return aluno;
         });
     }
 
+    /**
+     * Exclui um aluno com um único UPDATE, sem carregá-lo antes: a linha fica como tombstone para que GET /sync
+     * avise os clientes. Registra a exclusão no outbox se o aluno existia.
+     * @return true se o aluno existia.
+     */
+    @Transactional
     public boolean deletarAluno(Long id) {
-        return alunoRepository.findById(id).map(aluno -> {
-            alunoRepository.delete(aluno);
-            return true;
-        }).orElse(false);
+        if (alunoRepository.removerPorId(id) == 0) {
+            return false;
+        }
+        outboxService.registrar(EventoOutbox.ALUNO, id, EventoOutbox.EXCLUIDO);
+        return true;
+    }
+
+    /**
+     * Exclui (como tombstones) vários alunos em UPDATEs com até {@value #LOTE_EXCLUSAO} ids cada, todos na mesma
+     * transação.
+     * Ids inexistentes ou repetidos são ignorados.
+     * @return Quantos alunos foram de fato excluídos.
+     */
+    @Transactional
+    public int deletarAlunos(Collection<Long> ids) {
+        List<Long> distintos = ids.stream().filter(Objects::nonNull).distinct().toList();
+        int excluidos = 0;
+        for (int inicio = 0; inicio < distintos.size(); inicio += LOTE_EXCLUSAO) {
+            List<Long> lote = distintos.subList(inicio, Math.min(inicio + LOTE_EXCLUSAO, distintos.size()));
+            outboxService.registrarExclusaoDeAlunos(lote);
+            excluidos += alunoRepository.removerPorIds(lote);
+        }
+        return excluidos;
+    }
+
+    // O mesmo curso continua com o proxy já carregado; um curso novo é conferido como em salvarAluno, e findById
+    // respeita o @SQLRestriction: um curso excluído (tombstone) conta como inexistente
+    private Curso cursoDaAtualizacao(Aluno aluno, Curso novo) {
+        if (novo == null || novo.getId() == null) {
+            return null;
+        }
+        if (aluno.getCurso() != null && novo.getId().equals(aluno.getCurso().getId())) {
+            return aluno.getCurso();
+        }
+        return cursoRepository.findById(novo.getId())
+                .orElseThrow(() -> new IllegalArgumentException("Curso não encontrado"));
+    }
+
+    // Compara antes de aplicar: um PUT que não muda nada não gera evento de alteração (nem UPDATE)
+    private static boolean alterado(Aluno atual, Aluno novo) {
+        Long cursoAtual = atual.getCurso() == null ? null : atual.getCurso().getId();
+        Long cursoNovo = novo.getCurso() == null ? null : novo.getCurso().getId();
+        return !Objects.equals(atual.getNome(), novo.getNome())
+                || !Objects.equals(atual.getEmail(), novo.getEmail())
+                || !Objects.equals(dia(atual.getDataNascimento()), dia(novo.getDataNascimento()))
+                || !Objects.equals(cursoAtual, cursoNovo);
+    }
+
+    // Mesmo critério do Hibernate para java.sql.Date: só o dia conta, não os milissegundos
+    private static LocalDate dia(Date data) {
+        return data == null ? null : data.toLocalDate();
+    }
+
+    private int limitarTamanho(Integer tamanho) {
+        if (tamanho == null || tamanho <= 0) {
+            return tamanhoPadrao;
+        }
+        return Math.min(tamanho, tamanhoMaximo);
     }
-}
\ No newline at end of file
+}
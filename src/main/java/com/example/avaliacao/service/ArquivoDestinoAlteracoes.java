@@ -0,0 +1,58 @@
+package com.example.avaliacao.service;
+
+import com.example.avaliacao.dto.EventoAlteracao;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Acrescenta cada evento como uma linha JSON (NDJSON) ao arquivo {@code outbox.arquivo.caminho}.
+ * O lote só conta como publicado depois do fsync: uma queda no meio faz o relay reenviá-lo.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.destino", havingValue = "arquivo")
+public class ArquivoDestinoAlteracoes implements DestinoAlteracoes {
+
+    private static final byte[] FIM_DE_LINHA = {'\n'};
+
+    private final Path caminho;
+    private final ObjectWriter writer;
+
+    public ArquivoDestinoAlteracoes(@Value("${outbox.arquivo.caminho:alteracoes.ndjson}") String caminho,
+                                    ObjectMapper objectMapper) throws IOException {
+        this.caminho = Path.of(caminho).toAbsolutePath();
+        this.writer = objectMapper.writerFor(EventoAlteracao.class);
+        if (this.caminho.getParent() != null) {
+            Files.createDirectories(this.caminho.getParent());
+        }
+    }
+
+    @Override
+    public synchronized void publicar(List<EventoAlteracao> eventos) {
+        try (FileChannel canal = FileChannel.open(caminho, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            OutputStream saida = new BufferedOutputStream(Channels.newOutputStream(canal));
+            for (EventoAlteracao evento : eventos) {
+                saida.write(writer.writeValueAsBytes(evento));
+                saida.write(FIM_DE_LINHA);
+            }
+            saida.flush();
+            canal.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar alterações em " + caminho, e);
+        }
+    }
+}
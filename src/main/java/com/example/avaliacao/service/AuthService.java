@@ -1,46 +1,75 @@
 package com.example.avaliacao.service;
 
-import com.example.avaliacao.model.User;
 import com.example.avaliacao.repository.UserRepository;
+import com.example.avaliacao.service.UserLookupService.CachedUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 @Service
 public class AuthService {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
+
+    private final UserLookupService userLookupService;
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashService passwordHashService;
     private final JwtService jwtService; // Injeta o serviço de JWT
 
-    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtService jwtService) {
+    public AuthService(UserLookupService userLookupService, UserRepository userRepository,
+                       PasswordHashService passwordHashService, JwtService jwtService) {
+        this.userLookupService = userLookupService;
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashService = passwordHashService;
         this.jwtService = jwtService;
     }
 
     /**
      * Autentica um usuário e, se bem-sucedido, gera e retorna um token JWT.
+     * Se o hash armazenado usa um custo ou algoritmo antigo, ele é regravado com o atual.
      * @param username Nome de usuário.
      * @param password Senha em texto claro.
      * @return O token JWT.
      * @throws BadCredentialsException Se as credenciais forem inválidas.
+     * @throws RejectedExecutionException Se o pool de hash de senhas estiver saturado.
      */
     public String authenticateUserAndGenerateToken(String username, String password) {
-        Optional<User> userOptional = userRepository.findByUsername(username);
+        // Vem do cache: usuários conhecidos e inexistentes não consultam o banco a cada tentativa
+        Optional<CachedUser> userOptional = userLookupService.buscar(username);
 
         if (userOptional.isEmpty()) {
             throw new BadCredentialsException("Credenciais inválidas: Usuário não encontrado.");
         }
 
-        User user = userOptional.get();
+        CachedUser user = userOptional.get();
 
-        if (!passwordEncoder.matches(password, user.getPassword())) {
+        if (!passwordHashService.matches(password, user.password())) {
             throw new BadCredentialsException("Credenciais inválidas: Senha incorreta.");
         }
 
-        return jwtService.generateToken(user.getUsername(), user.getRole());
+        if (passwordHashService.precisaRehash(user.password())) {
+            atualizarHash(user.username(), password);
+        }
+
+        return jwtService.generateToken(user.username(), user.role());
+    }
+
+    // A senha acabou de ser conferida, então dá pra regravar o hash com o custo atual sem pedir nada ao usuário.
+    // Gravar o User invalida a entrada do cache (UserCacheInvalidationListener).
+    private void atualizarHash(String username, String password) {
+        try {
+            String novoHash = passwordHashService.encode(password);
+            userRepository.findByUsername(username).ifPresent(user -> {
+                user.setPassword(novoHash);
+                userRepository.save(user);
+            });
+        } catch (RuntimeException e) {
+            // O login já foi aceito; a atualização é tentada de novo no próximo
+            log.warn("Não foi possível atualizar o hash da senha de '{}': {}", username, e.getMessage());
+        }
     }
 }
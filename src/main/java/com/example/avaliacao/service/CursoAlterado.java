@@ -0,0 +1,8 @@
+package com.example.avaliacao.service;
+
+/**
+ * Publicado pelo {@link CursoService} quando um curso é criado ou atualizado; os ouvintes transacionais
+ * só o recebem depois do commit.
+ */
+public record CursoAlterado(Long id, String nomeCurso, String descricao, Integer cargaHoraria) {
+}
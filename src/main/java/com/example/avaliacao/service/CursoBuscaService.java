@@ -0,0 +1,261 @@
+package com.example.avaliacao.service;
+
+import com.example.avaliacao.dto.CursoEncontrado;
+import com.example.avaliacao.dto.ResultadoBusca;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.br.BrazilianAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.util.QueryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice textual (Lucene, em memória) sobre nome e descrição dos cursos, para GET /cursos/search.
+ * <ul>
+ *   <li>Atualizado incrementalmente pelos eventos do {@link CursoService}, só depois do commit;</li>
+ *   <li>reconstruído a partir do banco em segundo plano quando a aplicação fica pronta: as buscas funcionam
+ *   durante a reconstrução, só que com {@code indiceCompleto = false};</li>
+ *   <li>analisador em português (stopwords e stemming: "programação" encontra "programar").</li>
+ * </ul>
+ */
+@Service
+public class CursoBuscaService {
+
+    private static final Logger log = LoggerFactory.getLogger(CursoBuscaService.class);
+
+    private static final String CAMPO_ID = "id";
+    private static final String CAMPO_NOME = "nomeCurso";
+    private static final String CAMPO_DESCRICAO = "descricao";
+    private static final String CAMPO_CARGA = "cargaHoraria";
+
+    // Um termo no nome vale mais que o mesmo termo na descrição
+    private static final float PESO_NOME = 3f;
+    // Cursos indexados entre duas publicações do searcher durante a reconstrução
+    private static final int LOTE_RECONSTRUCAO = 1000;
+
+    private final CursoService cursoService;
+    private final TaskExecutor taskExecutor;
+    private final int tamanhoPadrao;
+    private final int tamanhoMaximo;
+    private final int maximoResultados;
+
+    private final Analyzer analyzer = new BrazilianAnalyzer();
+    private final QueryBuilder queryBuilder = new QueryBuilder(analyzer);
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    // Cursos alterados por eventos enquanto a reconstrução corre: a versão do evento é mais nova que a lida do banco
+    private final Set<Long> alteradosDuranteReconstrucao = ConcurrentHashMap.newKeySet();
+    private final Object trava = new Object();
+    private volatile boolean reconstruindo = true;
+
+    public CursoBuscaService(CursoService cursoService,
+                             @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                             @Value("${paginacao.tamanho-padrao:50}") int tamanhoPadrao,
+                             @Value("${paginacao.tamanho-maximo:500}") int tamanhoMaximo,
+                             @Value("${busca.cursos.maximo-resultados:10000}") int maximoResultados,
+                             MeterRegistry meterRegistry) throws IOException {
+        this.cursoService = cursoService;
+        this.taskExecutor = taskExecutor;
+        this.tamanhoPadrao = tamanhoPadrao;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.maximoResultados = maximoResultados;
+        this.writer = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(writer, null);
+        Gauge.builder("busca.cursos.documentos", writer, w -> w.getDocStats().numDocs)
+                .description("Cursos no índice de busca textual")
+                .register(meterRegistry);
+    }
+
+    // Fora do caminho da inicialização: a aplicação fica pronta (e o readiness UP) sem esperar o índice
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruirEmSegundoPlano() {
+        taskExecutor.execute(this::reconstruir);
+    }
+
+    void reconstruir() {
+        long inicio = System.nanoTime();
+        int[] indexados = {0};
+        try {
+            cursoService.percorrerCursos(false, curso -> {
+                synchronized (trava) {
+                    if (!alteradosDuranteReconstrucao.contains(curso.id())) {
+                        gravar(curso.id(), curso.nomeCurso(), curso.descricao(), curso.cargaHoraria());
+                    }
+                }
+                if (++indexados[0] % LOTE_RECONSTRUCAO == 0) {
+                    publicar();
+                }
+            });
+            publicar();
+            log.info("Índice de busca de cursos reconstruído: {} cursos em {} ms.",
+                    indexados[0], (System.nanoTime() - inicio) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Falha ao reconstruir o índice de busca de cursos; a busca segue só com as alterações recentes.", e);
+        } finally {
+            reconstruindo = false;
+            alteradosDuranteReconstrucao.clear();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterar(CursoAlterado evento) {
+        synchronized (trava) {
+            if (reconstruindo) {
+                alteradosDuranteReconstrucao.add(evento.id());
+            }
+            gravar(evento.id(), evento.nomeCurso(), evento.descricao(), evento.cargaHoraria());
+        }
+        publicar();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoExcluir(CursoExcluido evento) {
+        synchronized (trava) {
+            if (reconstruindo) {
+                alteradosDuranteReconstrucao.add(evento.id());
+            }
+            try {
+                writer.deleteDocuments(new Term(CAMPO_ID, evento.id().toString()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        publicar();
+    }
+
+    /**
+     * Busca cursos pelo texto em nome e descrição, em ordem de relevância.
+     * @param texto Texto livre; é analisado como os documentos (sem sintaxe de consulta do Lucene).
+     * @param pagina Página a partir de 0.
+     * @param tamanho Tamanho de página solicitado; limitado a {@code paginacao.tamanho-maximo}.
+     * @throws IllegalArgumentException Se a página pedida passar de {@code busca.cursos.maximo-resultados}.
+     */
+    public ResultadoBusca<CursoEncontrado> buscar(String texto, int pagina, Integer tamanho) {
+        int limite = tamanho == null || tamanho <= 0 ? tamanhoPadrao : Math.min(tamanho, tamanhoMaximo);
+        long ate = (long) (Math.max(pagina, 0) + 1) * limite;
+        if (ate > maximoResultados) {
+            throw new IllegalArgumentException("A busca só pagina até o resultado " + maximoResultados + ".");
+        }
+        Query consulta = consulta(texto);
+        if (consulta == null) {
+            return new ResultadoBusca<>(List.of(), 0, pagina, !reconstruindo);
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(consulta, (int) ate);
+                long total = topDocs.totalHits.relation == TotalHits.Relation.EQUAL_TO
+                        ? topDocs.totalHits.value : searcher.count(consulta);
+                List<CursoEncontrado> itens = new ArrayList<>(limite);
+                ScoreDoc[] docs = topDocs.scoreDocs;
+                for (int i = Math.max(pagina, 0) * limite; i < docs.length; i++) {
+                    itens.add(encontrado(searcher.storedFields().document(docs[i].doc), docs[i].score));
+                }
+                return new ResultadoBusca<>(itens, total, pagina, !reconstruindo);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public boolean isIndiceCompleto() {
+        return !reconstruindo;
+    }
+
+    @PreDestroy
+    public void fechar() throws IOException {
+        searcherManager.close();
+        writer.close();
+    }
+
+    // Qualquer termo (OR) em nome ou descrição; null se o texto só tiver stopwords
+    private Query consulta(String texto) {
+        Query nome = queryBuilder.createBooleanQuery(CAMPO_NOME, texto, BooleanClause.Occur.SHOULD);
+        Query descricao = queryBuilder.createBooleanQuery(CAMPO_DESCRICAO, texto, BooleanClause.Occur.SHOULD);
+        if (nome == null && descricao == null) {
+            return null;
+        }
+        BooleanQuery.Builder consulta = new BooleanQuery.Builder();
+        if (nome != null) {
+            consulta.add(new BoostQuery(nome, PESO_NOME), BooleanClause.Occur.SHOULD);
+        }
+        if (descricao != null) {
+            consulta.add(descricao, BooleanClause.Occur.SHOULD);
+        }
+        return consulta.build();
+    }
+
+    // updateDocument troca o documento de mesmo id (ou cria): inserir e atualizar são a mesma operação
+    private void gravar(Long id, String nomeCurso, String descricao, Integer cargaHoraria) {
+        Document documento = new Document();
+        documento.add(new StringField(CAMPO_ID, id.toString(), Field.Store.YES));
+        if (nomeCurso != null) {
+            documento.add(new TextField(CAMPO_NOME, nomeCurso, Field.Store.YES));
+        }
+        if (descricao != null) {
+            documento.add(new TextField(CAMPO_DESCRICAO, descricao, Field.Store.YES));
+        }
+        if (cargaHoraria != null) {
+            documento.add(new StoredField(CAMPO_CARGA, cargaHoraria));
+        }
+        try {
+            writer.updateDocument(new Term(CAMPO_ID, id.toString()), documento);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Torna as gravações visíveis para as próximas buscas (near-real-time, sem commit: o índice vive em memória)
+    private void publicar() {
+        try {
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static CursoEncontrado encontrado(Document documento, float relevancia) {
+        IndexableField carga = documento.getField(CAMPO_CARGA);
+        return new CursoEncontrado(Long.valueOf(documento.get(CAMPO_ID)), documento.get(CAMPO_NOME),
+                documento.get(CAMPO_DESCRICAO), carga == null ? null : carga.numericValue().intValue(), relevancia);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.avaliacao.service;
+
+/**
+ * Publicado pelo {@link CursoService} quando um curso existente é excluído.
+ */
+public record CursoExcluido(Long id) {
+}
@@ -1,44 +1,209 @@
 package com.example.avaliacao.service;
 
+import com.example.avaliacao.dto.AlunoResumo;
+import com.example.avaliacao.dto.CursoResumo;
+import com.example.avaliacao.dto.EstatisticasCurso;
+import com.example.avaliacao.dto.Pagina;
+import com.example.avaliacao.dto.VersaoAluno;
 import com.example.avaliacao.model.Curso;
+import com.example.avaliacao.model.EventoOutbox;
+import com.example.avaliacao.repository.AlunoRepository;
 import com.example.avaliacao.repository.CursoRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class CursoService {
 
+    // Quantos cursos do modo streaming têm os alunos buscados em um mesmo "IN (...)"
+    private static final int LOTE_EXPANSAO = 500;
+
     @Autowired
     private CursoRepository cursoRepository;
 
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    // Avisa o índice de busca (CursoBuscaService) das gravações, depois do commit
+    @Autowired
+    private ApplicationEventPublisher eventos;
+
+    // Cada gravação registra o seu evento de alteração na mesma transação (GET /changes)
+    @Autowired
+    private OutboxService outboxService;
+
+    @Value("${paginacao.tamanho-padrao:50}")
+    private int tamanhoPadrao;
+
+    @Value("${paginacao.tamanho-maximo:500}")
+    private int tamanhoMaximo;
+
+    @Transactional
     public Curso salvarCurso(Curso curso) {
-        return cursoRepository.save(curso);
+        Curso salvo = cursoRepository.save(curso);
+        outboxService.registrar(EventoOutbox.CURSO, salvo.getId(), EventoOutbox.CRIADO);
+        publicarAlteracao(salvo);
+        return salvo;
+    }
+
+    /**
+     * Lista uma página de cursos a partir do cursor informado.
+     * @param aposId Id do último curso da página anterior (null para a primeira página).
+     * @param tamanho Tamanho de página solicitado; limitado a {@code paginacao.tamanho-maximo}.
+     * @param expandirAlunos Se true, inclui os alunos de cada curso, buscados em uma única consulta para a página toda.
+     * @return A página e o cursor da próxima, se houver.
+     */
+    @Transactional(readOnly = true)
+    public Pagina<CursoResumo> listarCursos(Long aposId, Integer tamanho, boolean expandirAlunos) {
+        int limite = limitarTamanho(tamanho);
+        List<CursoResumo> cursos = cursoRepository.listarResumos(aposId == null ? 0L : aposId, PageRequest.ofSize(limite));
+        if (expandirAlunos) {
+            cursos = comAlunos(cursos);
+        }
+        return Pagina.de(cursos, limite, CursoResumo::id);
     }
 
-    public List<Curso> listarCursos() {
-        return cursoRepository.findAll();
+    /**
+     * Percorre todos os cursos pelo cursor JDBC, entregando um por vez ao consumidor.
+     * Com {@code expandirAlunos}, os alunos são buscados a cada lote de {@value #LOTE_EXPANSAO} cursos.
+     * @param expandirAlunos Se true, inclui os alunos de cada curso.
+     * @param consumidor Recebe cada curso, em ordem de id.
+     */
+    @Transactional(readOnly = true)
+    public void percorrerCursos(boolean expandirAlunos, Consumer<CursoResumo> consumidor) {
+        try (Stream<CursoResumo> cursos = cursoRepository.streamResumos()) {
+            if (!expandirAlunos) {
+                cursos.forEach(consumidor);
+                return;
+            }
+            List<CursoResumo> lote = new ArrayList<>(LOTE_EXPANSAO);
+            cursos.forEach(curso -> {
+                lote.add(curso);
+                if (lote.size() == LOTE_EXPANSAO) {
+                    comAlunos(lote).forEach(consumidor);
+                    lote.clear();
+                }
+            });
+            comAlunos(lote).forEach(consumidor);
+        }
+    }
+
+    /**
+     * Estatísticas de matrícula de uma página de cursos, por uma única consulta agregada: o custo depende do número
+     * de cursos da página, e a resposta não cresce com o número de alunos.
+     * @param aposId Id do último curso da página anterior (null para a primeira página).
+     * @param tamanho Tamanho de página solicitado; limitado a {@code paginacao.tamanho-maximo}.
+     */
+    public Pagina<EstatisticasCurso> estatisticas(Long aposId, Integer tamanho) {
+        int limite = limitarTamanho(tamanho);
+        // Quem nasceu depois de limite18 tem menos de 18 anos hoje, e assim por diante
+        LocalDate hoje = LocalDate.now();
+        List<EstatisticasCurso> estatisticas = cursoRepository.calcularEstatisticas(aposId == null ? 0L : aposId,
+                Date.valueOf(hoje.minusYears(18)), Date.valueOf(hoje.minusYears(25)),
+                Date.valueOf(hoje.minusYears(35)), Date.valueOf(hoje.minusYears(50)),
+                PageRequest.ofSize(limite));
+        return Pagina.de(estatisticas, limite, EstatisticasCurso::cursoId);
     }
 
     public Optional<Curso> buscarCursoPorId(Long id) {
         return cursoRepository.findById(id);
     }
 
-    public Optional<Curso> atualizarCurso(Long id, Curso novoCurso) {
+    /**
+     * Lista id e versão de cada aluno do curso, sem carregar a coleção.
+     * @param id Id do curso.
+     * @return Pares ordenados por id; mudam sempre que um aluno entra, sai ou é alterado.
+     */
+    public List<VersaoAluno> versoesDosAlunos(Long id) {
+        return alunoRepository.listarVersoesPorCurso(id);
+    }
+
+    /**
+     * Atualiza um curso, opcionalmente condicionado à versão que o cliente leu.
+     * Só as colunas alteradas entram no UPDATE e, se nada mudou, não há UPDATE nem nova versão.
+     * @param versaoEsperada Versão exigida (If-Match); null para atualizar qualquer que seja a versão atual.
+     * @return O curso atualizado, ou vazio se não existir.
+     * @throws VersaoDesatualizadaException Se a versão atual não for a esperada.
+     */
+    @Transactional
+    public Optional<Curso> atualizarCurso(Long id, Curso novoCurso, Long versaoEsperada) {
         return cursoRepository.findById(id).map(curso -> {
-            curso.setNomeCurso(novoCurso.getNomeCurso());
-            curso.setDescricao(novoCurso.getDescricao());
-            curso.setCargaHoraria(novoCurso.getCargaHoraria());
-            return cursoRepository.save(curso);
+            if (versaoEsperada != null && !versaoEsperada.equals(curso.getVersao())) {
+                throw new VersaoDesatualizadaException(curso.getVersao());
+            }
+            // Um PUT que não muda nada não gera evento de alteração (nem UPDATE, nem reindexação)
+            if (!Objects.equals(curso.getNomeCurso(), novoCurso.getNomeCurso())
+                    || !Objects.equals(curso.getDescricao(), novoCurso.getDescricao())
+                    || !Objects.equals(curso.getCargaHoraria(), novoCurso.getCargaHoraria())) {
+                outboxService.registrar(EventoOutbox.CURSO, id, EventoOutbox.ATUALIZADO);
+                curso.setNomeCurso(novoCurso.getNomeCurso());
+                curso.setDescricao(novoCurso.getDescricao());
+                curso.setCargaHoraria(novoCurso.getCargaHoraria());
+                publicarAlteracao(curso);
+            }
+            return curso;
         });
     }
 
+    /**
+     * Exclui o curso e os seus alunos com dois UPDATEs, em vez de carregar a coleção e excluir aluno por aluno
+     * pelo cascade. As linhas ficam como tombstones para que GET /sync avise os clientes.
+     * As exclusões dos alunos entram no outbox por um único INSERT ... SELECT, antes dos UPDATEs.
+     * Um id inexistente para na primeira consulta, sem tocar no outbox.
+     * @return true se o curso existia.
+     */
+    @Transactional
     public boolean deletarCurso(Long id) {
-        return cursoRepository.findById(id).map(curso -> {
-            cursoRepository.delete(curso);
-            return true;
-        }).orElse(false);
+        if (!cursoRepository.existsById(id)) {
+            return false;
+        }
+        outboxService.registrarExclusaoDosAlunosDoCurso(id);
+        alunoRepository.removerPorCurso(id);
+        if (cursoRepository.removerPorId(id) == 0) {
+            // Excluído por outra requisição entre a consulta e o UPDATE
+            return false;
+        }
+        outboxService.registrar(EventoOutbox.CURSO, id, EventoOutbox.EXCLUIDO);
+        eventos.publishEvent(new CursoExcluido(id));
+        return true;
+    }
+
+    // Busca os alunos de todos os cursos de uma vez, em vez de uma consulta por curso
+    private List<CursoResumo> comAlunos(List<CursoResumo> cursos) {
+        if (cursos.isEmpty()) {
+            return cursos;
+        }
+        List<Long> ids = cursos.stream().map(CursoResumo::id).toList();
+        Map<Long, List<AlunoResumo>> alunosPorCurso = alunoRepository.listarResumosPorCursos(ids).stream()
+                .collect(Collectors.groupingBy(AlunoResumo::cursoId));
+        return cursos.stream()
+                .map(curso -> curso.comAlunos(alunosPorCurso.getOrDefault(curso.id(), List.of())))
+                .toList();
+    }
+
+    private void publicarAlteracao(Curso curso) {
+        eventos.publishEvent(new CursoAlterado(curso.getId(), curso.getNomeCurso(), curso.getDescricao(), curso.getCargaHoraria()));
+    }
+
+    private int limitarTamanho(Integer tamanho) {
+        if (tamanho == null || tamanho <= 0) {
+            return tamanhoPadrao;
+        }
+        return Math.min(tamanho, tamanhoMaximo);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,21 @@
+package com.example.avaliacao.service;
+
+import com.example.avaliacao.dto.EventoAlteracao;
+
+import java.util.List;
+
+/**
+ * Para onde o {@link OutboxRelay} publica as alterações (fila, tópico, arquivo...).
+ * A entrega é "pelo menos uma vez": se {@link #publicar} falhar, o mesmo lote é reenviado no próximo ciclo,
+ * então o destino (ou quem consome dele) deve descartar posições já vistas.
+ * Escolhido por {@code outbox.destino}; para outro destino, registre um bean desta interface com
+ * {@code outbox.destino} diferente de {@code memoria} e {@code arquivo}.
+ */
+public interface DestinoAlteracoes {
+
+    /**
+     * Publica um lote de eventos, em ordem crescente de posição.
+     * @throws RuntimeException Se o lote não pôde ser publicado; nada dele é marcado como publicado.
+     */
+    void publicar(List<EventoAlteracao> eventos);
+}
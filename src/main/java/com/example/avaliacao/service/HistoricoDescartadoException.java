@@ -0,0 +1,20 @@
+package com.example.avaliacao.service;
+
+/**
+ * O {@code since} pedido em GET /changes é anterior ao histórico que o outbox ainda guarda: as alterações entre
+ * ele e a primeira posição disponível já foram descartadas pela retenção.
+ */
+public class HistoricoDescartadoException extends RuntimeException {
+
+    private final long ultimaPosicao;
+
+    public HistoricoDescartadoException(long primeiraPosicao, long ultimaPosicao) {
+        super("As alterações anteriores à posição " + primeiraPosicao + " já foram descartadas. "
+                + "Sincronize pelas listagens (GET /alunos e /cursos) e continue com since=" + ultimaPosicao + ".");
+        this.ultimaPosicao = ultimaPosicao;
+    }
+
+    public long getUltimaPosicao() {
+        return ultimaPosicao;
+    }
+}
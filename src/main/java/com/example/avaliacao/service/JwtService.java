@@ -1,23 +1,55 @@
 package com.example.avaliacao.service;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.Claim;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
 import org.springframework.stereotype.Service;
 
-import java.util.Date;
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
 
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    private final long expirationTime;
 
-    @Value("${jwt.expiration}")
-    private long expirationTime;
+    // Algorithm, JWTVerifier e o parser do JWT são imutáveis e thread-safe: criados uma vez e
+    // compartilhados por todas as requisições, em vez de reconstruídos a cada login/validação
+    private final Algorithm algorithm;
+    private final JWTVerifier verifier;
+    private final JWT decoder = new JWT();
+
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    private final Timer tempoAssinatura;
+    private final Timer tempoVerificacao;
+
+    public JwtService(@Value("${jwt.secret}") String secretKey,
+                      @Value("${jwt.expiration}") long expirationTime,
+                      VerifiedTokenCache verifiedTokenCache,
+                      MeterRegistry meterRegistry) {
+        this.expirationTime = expirationTime;
+        this.algorithm = Algorithm.HMAC256(secretKey);
+        this.verifier = JWT.require(algorithm).build();
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tempoAssinatura = Timer.builder("jwt.assinatura")
+                .description("Tempo para montar e assinar um token")
+                .register(meterRegistry);
+        // Só as verificações completas (falhas do cache); o resource server registra as suas com origem=resource-server
+        this.tempoVerificacao = Timer.builder("jwt.verificacao")
+                .description("Tempo da verificação completa de um token (assinatura e datas)")
+                .tag("origem", "jwt-service")
+                .register(meterRegistry);
+    }
 
     /**
      * Gera um token JWT com base nas informações do usuário.
@@ -26,22 +58,26 @@ public class JwtService {
      * @return O token JWT assinado.
      */
     public String generateToken(String username, String role) {
-        return JWT.create()
-                .withSubject(username)
-                .withClaim("role", role)
-                .withIssuedAt(new Date())
-                .withExpiresAt(new Date(System.currentTimeMillis() + expirationTime))
-                .sign(Algorithm.HMAC256(secretKey)); // Assina com HMAC256 e sua chave secreta
+        return tempoAssinatura.record(() -> {
+            Instant agora = Instant.now();
+            return JWT.create()
+                    .withSubject(username)
+                    .withClaim("role", role)
+                    .withIssuedAt(agora)
+                    .withExpiresAt(agora.plusMillis(expirationTime))
+                    .sign(algorithm); // Assina com HMAC256 e sua chave secreta
+        });
     }
 
     /**
      * Valida um token JWT.
+     * Tokens já verificados (aqui ou pelo resource server) são respondidos pelo {@link VerifiedTokenCache}.
      * @param token O token JWT a ser validado.
      * @return true se o token for válido e não expirado, false caso contrário.
      */
     public boolean validateToken(String token) {
         try {
-            JWT.require(Algorithm.HMAC256(secretKey)).build().verify(token);
+            verifiedTokenCache.obter(token, this::verificar);
             return true;
         } catch (JWTVerificationException e) {
             System.err.println("Erro na validação do token: " + e.getMessage());
@@ -55,7 +91,11 @@ public class JwtService {
      * @return O username.
      */
     public String getUsernameFromToken(String token) {
-        return JWT.decode(token).getSubject();
+        Jwt verificado = verifiedTokenCache.buscar(token);
+        if (verificado != null) {
+            return verificado.getSubject();
+        }
+        return decoder.decodeJwt(token).getSubject();
     }
 
     /**
@@ -64,7 +104,33 @@ public class JwtService {
      * @return Um mapa com as claims do token.
      */
     public Map<String, Object> getAllClaimsFromToken(String token) {
-        return JWT.decode(token).getClaims().entrySet().stream()
-                   .collect(HashMap::new, (map, entry) -> map.put(entry.getKey(), entry.getValue().asString()), HashMap::putAll);
+        Map<String, Claim> claims = decoder.decodeJwt(token).getClaims();
+        // Já nasce com a capacidade certa: sem rehash e sem o coletor intermediário do stream
+        Map<String, Object> resultado = new HashMap<>((int) (claims.size() / 0.75f) + 1);
+        for (Map.Entry<String, Claim> claim : claims.entrySet()) {
+            resultado.put(claim.getKey(), claim.getValue().asString());
+        }
+        return resultado;
+    }
+
+    // Verificação completa (assinatura, exp, nbf), convertida para o mesmo Jwt que o resource server usa
+    private Jwt verificar(String token) {
+        DecodedJWT decoded = tempoVerificacao.record(() -> verifier.verify(token));
+        return Jwt.withTokenValue(token)
+                .headers(headers -> {
+                    headers.put("alg", decoded.getAlgorithm());
+                    if (decoded.getType() != null) {
+                        headers.put("typ", decoded.getType());
+                    }
+                })
+                .claims(claims -> decoded.getClaims().forEach((nome, claim) -> claims.put(nome, valorDaClaim(nome, claim))))
+                .build();
+    }
+
+    private static Object valorDaClaim(String nome, Claim claim) {
+        return switch (nome) {
+            case JwtClaimNames.EXP, JwtClaimNames.IAT, JwtClaimNames.NBF -> claim.asInstant();
+            default -> claim.as(Object.class);
+        };
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,73 @@
+package com.example.avaliacao.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Limite de taxa por chave (IP, username...) com token bucket: cada chave tem até {@code capacidade} fichas,
+ * repostas continuamente a {@code fichasPorSegundo}; cada requisição consome uma.
+ * Os baldes ficam em um Caffeine limitado e somem depois de inativos por tempo suficiente para encher de novo,
+ * então chaves aleatórias não fazem a memória crescer sem limite.
+ */
+public class LimitadorDeTaxa {
+
+    private final double capacidade;
+    private final double fichasPorNano;
+    private final LongSupplier relogio;
+    private final Cache<String, Balde> baldes;
+
+    public LimitadorDeTaxa(int capacidade, double fichasPorSegundo, long maximoDeChaves) {
+        this(capacidade, fichasPorSegundo, maximoDeChaves, System::nanoTime);
+    }
+
+    /**
+     * @param relogio Fonte de tempo em nanossegundos (System::nanoTime fora dos testes).
+     */
+    public LimitadorDeTaxa(int capacidade, double fichasPorSegundo, long maximoDeChaves, LongSupplier relogio) {
+        if (capacidade < 1 || fichasPorSegundo <= 0) {
+            throw new IllegalArgumentException("Capacidade e reposição do limitador devem ser positivas.");
+        }
+        this.capacidade = capacidade;
+        this.fichasPorNano = fichasPorSegundo / 1_000_000_000d;
+        this.relogio = relogio;
+        // Um balde inativo por esse tempo já estaria cheio: descartá-lo é o mesmo que mantê-lo
+        long nanosParaEncher = (long) Math.ceil(capacidade / fichasPorNano);
+        this.baldes = Caffeine.newBuilder()
+                .maximumSize(maximoDeChaves)
+                .expireAfterAccess(Duration.ofNanos(nanosParaEncher))
+                .build();
+    }
+
+    /**
+     * Tenta consumir uma ficha da chave.
+     * @return 0 se a requisição foi admitida; senão, quantos nanossegundos faltam para a próxima ficha.
+     */
+    public long tentar(String chave) {
+        return baldes.get(chave, k -> new Balde(capacidade, relogio.getAsLong())).tentar(relogio.getAsLong());
+    }
+
+    private final class Balde {
+
+        private double fichas;
+        private long atualizadoEm;
+
+        Balde(double fichas, long agora) {
+            this.fichas = fichas;
+            this.atualizadoEm = agora;
+        }
+
+        // Reposição preguiçosa: as fichas são recalculadas só quando a chave é usada
+        synchronized long tentar(long agora) {
+            fichas = Math.min(capacidade, fichas + (agora - atualizadoEm) * fichasPorNano);
+            atualizadoEm = agora;
+            if (fichas >= 1) {
+                fichas -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - fichas) / fichasPorNano);
+        }
+    }
+}
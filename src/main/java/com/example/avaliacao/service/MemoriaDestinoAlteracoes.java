@@ -0,0 +1,42 @@
+package com.example.avaliacao.service;
+
+import com.example.avaliacao.dto.EventoAlteracao;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Destino padrão (desenvolvimento e testes): guarda os últimos {@code outbox.memoria.capacidade} eventos publicados.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.destino", havingValue = "memoria", matchIfMissing = true)
+public class MemoriaDestinoAlteracoes implements DestinoAlteracoes {
+
+    private final int capacidade;
+    private final Deque<EventoAlteracao> eventos = new ArrayDeque<>();
+
+    public MemoriaDestinoAlteracoes(@Value("${outbox.memoria.capacidade:10000}") int capacidade) {
+        this.capacidade = capacidade;
+    }
+
+    @Override
+    public synchronized void publicar(List<EventoAlteracao> lote) {
+        for (EventoAlteracao evento : lote) {
+            if (eventos.size() == capacidade) {
+                eventos.removeFirst();
+            }
+            eventos.addLast(evento);
+        }
+    }
+
+    /**
+     * Cópia dos eventos guardados, do mais antigo ao mais recente.
+     */
+    public synchronized List<EventoAlteracao> eventos() {
+        return List.copyOf(eventos);
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.avaliacao.service;
+
+import com.example.avaliacao.dto.EventoAlteracao;
+import com.example.avaliacao.model.EventoOutbox;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Publica em segundo plano as alterações gravadas no outbox, em lotes de {@code outbox.relay.tamanho-lote}.
+ * <ol>
+ *   <li>Numera as linhas já confirmadas ainda sem posição, em ordem de id. A posição é dada aqui, e não no insert,
+ *   porque ids são reservados antes do commit: uma transação longa confirmaria um id menor depois que um cliente
+ *   de GET /changes já tivesse passado dele. Posições só existem depois do commit, sempre crescentes e sem lacunas.
+ *   Na mesma transação, cada aluno ou curso alterado recebe a posição do seu evento como revisão (GET /sync, veja
+ *   {@link SincronizacaoService});</li>
+ *   <li>envia as linhas numeradas e ainda não publicadas ao {@link DestinoAlteracoes} e as marca como publicadas.
+ *   Se o destino falhar, o lote fica pendente e é reenviado no próximo ciclo.</li>
+ * </ol>
+ * Os ciclos são disparados por {@link OutboxRelayAgendamento}. Usa SQL direto (JdbcTemplate): roda o tempo todo e
+ * não precisa de entidades gerenciadas. Com mais de uma instância, o índice único da posição impede numerações
+ * repetidas; a instância que perder a corrida tenta de novo no ciclo seguinte.
+ */
+@Service
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final RowMapper<EventoAlteracao> EVENTO = (rs, linha) -> new EventoAlteracao(
+            rs.getLong("posicao"), rs.getString("entidade"), rs.getLong("entidade_id"), rs.getString("operacao"),
+            rs.getTimestamp("ocorrido_em").toInstant());
+
+    private static final RowMapper<Pendente> PENDENTE = (rs, linha) -> new Pendente(
+            rs.getLong("id"), rs.getString("entidade"), rs.getLong("entidade_id"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transacao;
+    private final DestinoAlteracoes destino;
+    private final int tamanhoLote;
+    private final Duration retencao;
+    private final MeterRegistry meterRegistry;
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate,
+                       PlatformTransactionManager transactionManager,
+                       DestinoAlteracoes destino,
+                       @Value("${outbox.relay.tamanho-lote:500}") int tamanhoLote,
+                       @Value("${outbox.retencao-ms:604800000}") long retencaoMs,
+                       MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.destino = destino;
+        this.tamanhoLote = tamanhoLote;
+        this.retencao = Duration.ofMillis(retencaoMs);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Um ciclo do relay: numera e publica lotes até não restar nada pendente.
+     */
+    public void publicarPendentes() {
+        try {
+            int numeradas;
+            int publicadas;
+            do {
+                numeradas = numerar();
+                publicadas = publicar();
+            } while (numeradas == tamanhoLote || publicadas == tamanhoLote);
+        } catch (RuntimeException e) {
+            contar("falha", 1);
+            log.warn("Relay do outbox: ciclo interrompido, as alterações pendentes serão reenviadas. {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Exclui as alterações publicadas há mais de {@code outbox.retencao-ms}, sempre mantendo a última posição
+     * (a numeração continua dela). Clientes de GET /changes parados há mais tempo que isso recebem 410.
+     */
+    public void excluirAntigos() {
+        Long ate = jdbcTemplate.queryForObject("SELECT MAX(posicao) FROM outbox WHERE publicado = TRUE AND ocorrido_em < ?",
+                Long.class, Timestamp.from(Instant.now().minus(retencao)));
+        if (ate == null) {
+            return;
+        }
+        int excluidas = jdbcTemplate.update("DELETE FROM outbox WHERE posicao < ?", ate);
+        if (excluidas > 0) {
+            log.info("{} alterações antigas excluídas do outbox.", excluidas);
+        }
+    }
+
+    private int numerar() {
+        Integer numeradas = transacao.execute(status -> {
+            List<Pendente> pendentes = jdbcTemplate.query(
+                    "SELECT id, entidade, entidade_id FROM outbox WHERE posicao IS NULL ORDER BY id FETCH FIRST ? ROWS ONLY",
+                    PENDENTE, tamanhoLote);
+            if (pendentes.isEmpty()) {
+                return 0;
+            }
+            long ultima = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(posicao), 0) FROM outbox", Long.class);
+            List<Object[]> posicoes = new ArrayList<>(pendentes.size());
+            List<Object[]> revisoesAlunos = new ArrayList<>();
+            List<Object[]> revisoesCursos = new ArrayList<>();
+            for (Pendente pendente : pendentes) {
+                long posicao = ++ultima;
+                posicoes.add(new Object[]{posicao, pendente.id()});
+                (EventoOutbox.CURSO.equals(pendente.entidade()) ? revisoesCursos : revisoesAlunos)
+                        .add(new Object[]{posicao, pendente.entidadeId(), posicao});
+            }
+            jdbcTemplate.batchUpdate("UPDATE outbox SET posicao = ? WHERE id = ?", posicoes);
+            // A revisão só avança: com vários eventos da mesma linha no lote, fica a posição do último
+            if (!revisoesAlunos.isEmpty()) {
+                jdbcTemplate.batchUpdate("UPDATE aluno SET revisao = ? WHERE id = ? AND revisao < ?", revisoesAlunos);
+            }
+            if (!revisoesCursos.isEmpty()) {
+                jdbcTemplate.batchUpdate("UPDATE curso SET revisao = ? WHERE id = ? AND revisao < ?", revisoesCursos);
+            }
+            return pendentes.size();
+        });
+        return numeradas == null ? 0 : numeradas;
+    }
+
+    private int publicar() {
+        List<EventoAlteracao> eventos = jdbcTemplate.query(
+                "SELECT posicao, entidade, entidade_id, operacao, ocorrido_em FROM outbox "
+                        + "WHERE publicado = FALSE AND posicao IS NOT NULL ORDER BY posicao FETCH FIRST ? ROWS ONLY",
+                EVENTO, tamanhoLote);
+        if (eventos.isEmpty()) {
+            return 0;
+        }
+        destino.publicar(eventos);
+        jdbcTemplate.update("UPDATE outbox SET publicado = TRUE WHERE publicado = FALSE AND posicao <= ?",
+                eventos.get(eventos.size() - 1).posicao());
+        contar("publicado", eventos.size());
+        return eventos.size();
+    }
+
+    // Linha do outbox ainda sem posição
+    private record Pendente(long id, String entidade, long entidadeId) {
+    }
+
+    private void contar(String resultado, int quantidade) {
+        Counter.builder("outbox.relay")
+                .description("Alterações publicadas pelo relay do outbox e ciclos interrompidos por falha")
+                .tag("resultado", resultado)
+                .register(meterRegistry)
+                .increment(quantidade);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.avaliacao.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Dispara os ciclos do {@link OutboxRelay} e a limpeza da retenção. Desligado com {@code outbox.relay.habilitado=false}
+ * (nos testes): cada contexto de teste teria o seu relay disputando o mesmo outbox, e o teste chama o relay direto.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.relay.habilitado", havingValue = "true", matchIfMissing = true)
+public class OutboxRelayAgendamento {
+
+    private final OutboxRelay relay;
+
+    public OutboxRelayAgendamento(OutboxRelay relay) {
+        this.relay = relay;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.intervalo-ms:500}")
+    public void publicarPendentes() {
+        relay.publicarPendentes();
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.limpeza-ms:3600000}", initialDelayString = "${outbox.limpeza-ms:3600000}")
+    public void excluirAntigos() {
+        relay.excluirAntigos();
+    }
+}
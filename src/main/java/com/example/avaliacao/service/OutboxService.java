@@ -0,0 +1,91 @@
+package com.example.avaliacao.service;
+
+import com.example.avaliacao.dto.EventoAlteracao;
+import com.example.avaliacao.dto.Pagina;
+import com.example.avaliacao.model.EventoOutbox;
+import com.example.avaliacao.repository.EventoOutboxRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Lado de escrita e de leitura do outbox de alterações.
+ * Os métodos de registro exigem uma transação em andamento (a da própria alteração): o evento é confirmado ou
+ * descartado junto com ela, sem janela em que um exista sem o outro.
+ */
+@Service
+public class OutboxService {
+
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final int tamanhoPadrao;
+    private final int tamanhoMaximo;
+
+    public OutboxService(EventoOutboxRepository eventoOutboxRepository,
+                         @Value("${paginacao.tamanho-padrao:50}") int tamanhoPadrao,
+                         @Value("${paginacao.tamanho-maximo:500}") int tamanhoMaximo) {
+        this.eventoOutboxRepository = eventoOutboxRepository;
+        this.tamanhoPadrao = tamanhoPadrao;
+        this.tamanhoMaximo = tamanhoMaximo;
+    }
+
+    /**
+     * Registra a alteração de um aluno ou curso.
+     * @param entidade {@link EventoOutbox#ALUNO} ou {@link EventoOutbox#CURSO}.
+     * @param operacao {@link EventoOutbox#CRIADO}, {@link EventoOutbox#ATUALIZADO} ou {@link EventoOutbox#EXCLUIDO}.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(String entidade, Long id, String operacao) {
+        eventoOutboxRepository.save(new EventoOutbox(null, entidade, id, operacao, Instant.now(), null, false));
+    }
+
+    /**
+     * Registra a criação de alunos recém-gravados (importação em lote), com um único INSERT ... SELECT.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarCriacaoDeAlunos(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            eventoOutboxRepository.registrarCriacaoDeAlunos(ids);
+        }
+    }
+
+    /**
+     * Registra a exclusão dos alunos informados que existem; deve ser chamado antes do DELETE.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarExclusaoDeAlunos(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            eventoOutboxRepository.registrarExclusaoDeAlunos(ids);
+        }
+    }
+
+    /**
+     * Registra a exclusão de todos os alunos do curso; deve ser chamado antes do DELETE.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarExclusaoDosAlunosDoCurso(Long cursoId) {
+        eventoOutboxRepository.registrarExclusaoDosAlunosDoCurso(cursoId);
+    }
+
+    /**
+     * Alterações já numeradas pelo relay depois da posição informada, em ordem de posição.
+     * @param desde Última posição já processada pelo cliente (0 para começar do início do histórico).
+     * @param tamanho Tamanho de página solicitado; limitado a {@code paginacao.tamanho-maximo}.
+     * @throws HistoricoDescartadoException Se alterações posteriores a {@code desde} já foram descartadas.
+     */
+    @Transactional(readOnly = true)
+    public Pagina<EventoAlteracao> listarAlteracoes(long desde, Integer tamanho) {
+        int limite = tamanho == null || tamanho <= 0 ? tamanhoPadrao : Math.min(tamanho, tamanhoMaximo);
+        List<EventoAlteracao> eventos = eventoOutboxRepository.listarDesde(desde, PageRequest.ofSize(limite));
+        // As posições não têm lacunas: se a primeira devolvida não é desde + 1, a retenção passou por cima do cliente
+        if (!eventos.isEmpty() && eventos.get(0).posicao() > desde + 1) {
+            throw new HistoricoDescartadoException(eventos.get(0).posicao(), eventoOutboxRepository.ultimaPosicao());
+        }
+        return Pagina.de(eventos, limite, EventoAlteracao::posicao);
+    }
+}
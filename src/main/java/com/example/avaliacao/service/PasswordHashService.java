@@ -0,0 +1,112 @@
+package com.example.avaliacao.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executa o hash de senhas (BCrypt) em um pool dedicado e limitado.
+ * Uma rajada de logins ocupa no máximo threads + fila requisições; as demais recebem
+ * {@link RejectedExecutionException} na hora, sem esgotar o pool do Tomcat que atende /alunos e /cursos.
+ */
+@Service
+public class PasswordHashService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+
+    private final Timer tempoMatches;
+    private final Timer tempoEncode;
+    private final Timer tempoEspera;
+
+    public PasswordHashService(PasswordEncoder passwordEncoder,
+                               @Value("${senha.executor.threads:0}") int threads,
+                               @Value("${senha.executor.fila:64}") int fila,
+                               MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.tempoMatches = tempoHash(meterRegistry, "matches");
+        this.tempoEncode = tempoHash(meterRegistry, "encode");
+        this.tempoEspera = Timer.builder("senha.hash.espera")
+                .description("Tempo que um hash de senha aguardou na fila do pool")
+                .register(meterRegistry);
+        int numeroThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(numeroThreads, numeroThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(fila), new CustomizableThreadFactory("hash-senha-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Confere a senha contra o hash armazenado.
+     * @throws RejectedExecutionException Se o pool e a fila de hash estiverem cheios.
+     */
+    public boolean matches(String senha, String hash) {
+        return executar(tempoMatches, () -> passwordEncoder.matches(senha, hash));
+    }
+
+    /**
+     * Gera o hash de uma senha com o algoritmo e o custo atuais.
+     * @throws RejectedExecutionException Se o pool e a fila de hash estiverem cheios.
+     */
+    public String encode(String senha) {
+        return executar(tempoEncode, () -> passwordEncoder.encode(senha));
+    }
+
+    /**
+     * @return true se o hash foi gerado com algoritmo ou custo anteriores aos atuais.
+     */
+    public boolean precisaRehash(String hash) {
+        return passwordEncoder.upgradeEncoding(hash);
+    }
+
+    /**
+     * @return Quantas tarefas ainda cabem na fila do pool de hash.
+     */
+    public int capacidadeRestante() {
+        return executor.getQueue().remainingCapacity();
+    }
+
+    private <T> T executar(Timer tempo, Callable<T> tarefa) {
+        long enfileiradoEm = System.nanoTime();
+        Future<T> futuro = executor.submit(() -> {
+            tempoEspera.record(System.nanoTime() - enfileiradoEm, TimeUnit.NANOSECONDS);
+            return tempo.recordCallable(tarefa);
+        });
+        try {
+            return futuro.get();
+        } catch (InterruptedException e) {
+            futuro.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Hash de senha interrompido.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Falha ao calcular o hash da senha.", e.getCause());
+        }
+    }
+
+    private static Timer tempoHash(MeterRegistry meterRegistry, String operacao) {
+        return Timer.builder("senha.hash")
+                .description("Tempo de CPU de um hash BCrypt, sem a espera na fila")
+                .tag("operacao", operacao)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdown();
+    }
+}
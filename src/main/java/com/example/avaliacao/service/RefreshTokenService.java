@@ -0,0 +1,147 @@
+package com.example.avaliacao.service;
+
+import com.example.avaliacao.dto.ParDeTokens;
+import com.example.avaliacao.model.RefreshToken;
+import com.example.avaliacao.repository.RefreshTokenRepository;
+import com.example.avaliacao.service.UserLookupService.CachedUser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Emissão, renovação (com rotação) e revogação de refresh tokens.
+ * Renovar custa um SHA-256, uma busca pelo índice único do hash e a assinatura HMAC do novo JWT:
+ * nenhum BCrypt, ao contrário de um novo login.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final int BYTES_DO_TOKEN = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserLookupService userLookupService;
+    private final JwtService jwtService;
+    private final long expirationTime;
+    private final MeterRegistry meterRegistry;
+
+    private final SecureRandom random = new SecureRandom();
+    private final Base64.Encoder base64 = Base64.getUrlEncoder().withoutPadding();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               UserLookupService userLookupService,
+                               JwtService jwtService,
+                               @Value("${jwt.refresh.expiration:1209600000}") long expirationTime,
+                               MeterRegistry meterRegistry) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userLookupService = userLookupService;
+        this.jwtService = jwtService;
+        this.expirationTime = expirationTime;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Emite o refresh token de uma nova sessão (chamado depois de um login bem-sucedido).
+     * @param username O usuário já autenticado.
+     * @return O refresh token, que só existe em claro nesta resposta.
+     */
+    @Transactional
+    public String emitir(String username) {
+        return gravarNovo(username, random.nextLong());
+    }
+
+    /**
+     * Troca um refresh token válido por um novo JWT e um novo refresh token da mesma família.
+     * Um token já usado revoga a família inteira, inclusive o token que o substituiu.
+     * @throws BadCredentialsException Se o token não existir, tiver expirado ou já tiver sido usado.
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public ParDeTokens renovar(String refreshToken) {
+        RefreshToken atual = refreshTokenRepository.findByHash(hash(refreshToken)).orElse(null);
+        if (atual == null) {
+            contar("invalido");
+            throw new BadCredentialsException("Refresh token inválido ou revogado.");
+        }
+        if (atual.getExpiraEm().isBefore(Instant.now())) {
+            contar("expirado");
+            throw new BadCredentialsException("Refresh token expirado.");
+        }
+        if (refreshTokenRepository.marcarComoUsado(atual.getId()) == 0) {
+            refreshTokenRepository.revogarFamilia(atual.getFamilia());
+            contar("reutilizado");
+            log.warn("Refresh token reutilizado para '{}': sessão revogada.", atual.getUsername());
+            throw new BadCredentialsException("Refresh token já utilizado. Faça login novamente.");
+        }
+        // Vem do cache de usuários; a role vale a atual, não a do login
+        CachedUser user = userLookupService.buscar(atual.getUsername()).orElse(null);
+        if (user == null) {
+            refreshTokenRepository.revogarFamilia(atual.getFamilia());
+            contar("invalido");
+            throw new BadCredentialsException("Refresh token inválido ou revogado.");
+        }
+        String novo = gravarNovo(user.username(), atual.getFamilia());
+        contar("renovado");
+        return new ParDeTokens(jwtService.generateToken(user.username(), user.role()), novo);
+    }
+
+    /**
+     * Revoga a sessão (família) do refresh token; tokens desconhecidos são ignorados.
+     */
+    @Transactional
+    public void revogar(String refreshToken) {
+        refreshTokenRepository.findByHash(hash(refreshToken))
+                .ifPresent(token -> refreshTokenRepository.revogarFamilia(token.getFamilia()));
+    }
+
+    /**
+     * Remove os tokens expirados (usados ou não): depois do 'exp' nem servem para detectar reuso.
+     */
+    @Scheduled(fixedDelayString = "${jwt.refresh.limpeza-ms:3600000}", initialDelayString = "${jwt.refresh.limpeza-ms:3600000}")
+    @Transactional
+    public void excluirExpirados() {
+        int excluidos = refreshTokenRepository.excluirExpirados(Instant.now());
+        if (excluidos > 0) {
+            log.info("{} refresh tokens expirados excluídos.", excluidos);
+        }
+    }
+
+    private String gravarNovo(String username, long familia) {
+        byte[] bytes = new byte[BYTES_DO_TOKEN];
+        random.nextBytes(bytes);
+        String token = base64.encodeToString(bytes);
+        refreshTokenRepository.save(new RefreshToken(null, hash(token), username, familia,
+                Instant.now().plusMillis(expirationTime), false));
+        return token;
+    }
+
+    // O token já tem 256 bits aleatórios: um SHA-256 simples basta, sem sal nem custo
+    private static byte[] hash(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    private void contar(String resultado) {
+        Counter.builder("autenticacao.refresh")
+                .description("Renovações de sessão por refresh token")
+                .tag("resultado", resultado)
+                .register(meterRegistry)
+                .increment();
+    }
+}
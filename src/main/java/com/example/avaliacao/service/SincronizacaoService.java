@@ -0,0 +1,147 @@
+package com.example.avaliacao.service;
+
+import com.example.avaliacao.dto.AlunoSincronizado;
+import com.example.avaliacao.dto.CursoSincronizado;
+import com.example.avaliacao.dto.Sincronizacao;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sincronização incremental (GET /sync): só as linhas gravadas depois da revisão que o cliente já tem, inclusive as
+ * excluídas (tombstones). O custo acompanha o volume de alterações, não o tamanho das tabelas: as consultas são
+ * range scans nos índices (revisao, id).
+ * <p>
+ * A revisão de uma linha é a posição no outbox do evento da sua última alteração, gravada pelo {@link OutboxRelay}
+ * na mesma transação que numera o evento. As posições só existem depois do commit e crescem sem lacunas, então a
+ * maior delas é um limite seguro: toda linha com revisão até ali já foi confirmada com o conteúdo dessa alteração
+ * (ou de uma posterior, que ainda vai chegar de novo com uma revisão maior). As gravações não disputam nenhuma trava
+ * em comum; o preço é que uma alteração só aparece em GET /sync depois do ciclo do relay que a numera.
+ * <p>
+ * Usa SQL direto (JdbcTemplate) porque as consultas JPA não enxergam linhas removidas ({@code @SQLRestriction}).
+ * As páginas seguem a ordem (revisão, cursos antes de alunos, id); o cursor {@code after} leva essa chave e a
+ * revisão-base dos tombstones.
+ */
+@Service
+public class SincronizacaoService {
+
+    private static final int TIPO_CURSO = 0;
+    private static final int TIPO_ALUNO = 1;
+
+    private static final RowMapper<CursoSincronizado> CURSO = (rs, linha) -> rs.getBoolean("removido")
+            ? new CursoSincronizado(rs.getLong("id"), null, null, null, rs.getLong("revisao"), true)
+            : new CursoSincronizado(rs.getLong("id"), rs.getString("nome_curso"), rs.getString("descricao"),
+                    rs.getObject("carga_horaria", Integer.class), rs.getLong("revisao"), false);
+
+    private static final RowMapper<AlunoSincronizado> ALUNO = (rs, linha) -> rs.getBoolean("removido")
+            ? new AlunoSincronizado(rs.getLong("id"), null, null, null, null, rs.getLong("revisao"), true)
+            : new AlunoSincronizado(rs.getLong("id"), rs.getString("nome"), rs.getString("email"),
+                    rs.getDate("data_nascimento"), rs.getObject("curso_id", Long.class), rs.getLong("revisao"), false);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int tamanhoPadrao;
+    private final int tamanhoMaximo;
+
+    public SincronizacaoService(JdbcTemplate jdbcTemplate,
+                                @Value("${paginacao.tamanho-padrao:50}") int tamanhoPadrao,
+                                @Value("${paginacao.tamanho-maximo:500}") int tamanhoMaximo) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tamanhoPadrao = tamanhoPadrao;
+        this.tamanhoMaximo = tamanhoMaximo;
+    }
+
+    /**
+     * Uma página das alterações posteriores a {@code desde}.
+     * @param desde Revisão que o cliente já tem; null na primeira sincronização (todas as linhas, sem tombstones).
+     * @param apos Cursor devolvido pela página anterior desta sincronização, ou null.
+     * @param tamanho Máximo de linhas (cursos + alunos) da página; limitado a {@code paginacao.tamanho-maximo}.
+     * @throws IllegalArgumentException Se o cursor for inválido.
+     */
+    @Transactional(readOnly = true)
+    public Sincronizacao sincronizar(Long desde, String apos, Integer tamanho) {
+        int limite = tamanho == null || tamanho <= 0 ? tamanhoPadrao : Math.min(tamanho, tamanhoMaximo);
+        // Lida antes das linhas: toda linha com revisão até aqui já foi carimbada pelo relay e confirmada
+        long ate = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(posicao), 0) FROM outbox", Long.class);
+
+        // Sem cursor, a página começa logo depois de 'desde' (na primeira sincronização, na revisão 0). Tombstones
+        // com revisão até 'base' não interessam: na primeira sincronização 'base' é a revisão da primeira página,
+        // assim um aluno excluído entre uma página e outra ainda chega ao cliente que já o recebeu
+        long base = desde == null ? ate : desde;
+        long revisao = desde == null ? -1 : desde;
+        int tipo = TIPO_ALUNO;
+        long id = Long.MAX_VALUE;
+        if (apos != null) {
+            long[] chave = lerCursor(apos);
+            base = chave[0];
+            revisao = chave[1];
+            tipo = (int) chave[2];
+            id = chave[3];
+        }
+
+        // Cada tabela começa logo depois do cursor: na mesma revisão, os alunos vêm depois de todos os cursos
+        List<CursoSincronizado> cursos = jdbcTemplate.query(
+                "SELECT id, nome_curso, descricao, carga_horaria, revisao, removido FROM curso "
+                        + "WHERE (revisao, id) > (?, ?) AND revisao <= ? AND (removido = FALSE OR revisao > ?) "
+                        + "ORDER BY revisao, id FETCH FIRST ? ROWS ONLY",
+                CURSO, revisao, tipo == TIPO_CURSO ? id : Long.MAX_VALUE, ate, base, limite + 1);
+        List<AlunoSincronizado> alunos = jdbcTemplate.query(
+                "SELECT id, nome, email, data_nascimento, curso_id, revisao, removido FROM aluno "
+                        + "WHERE (revisao, id) > (?, ?) AND revisao <= ? AND (removido = FALSE OR revisao > ?) "
+                        + "ORDER BY revisao, id FETCH FIRST ? ROWS ONLY",
+                ALUNO, revisao, tipo == TIPO_ALUNO ? id : Long.MIN_VALUE, ate, base, limite + 1);
+
+        // Intercala as duas listas na ordem (revisão, tipo, id) e corta no limite
+        List<CursoSincronizado> cursosDaPagina = new ArrayList<>();
+        List<AlunoSincronizado> alunosDaPagina = new ArrayList<>();
+        int c = 0;
+        int a = 0;
+        String proximo = null;
+        while (c < cursos.size() || a < alunos.size()) {
+            boolean cursoPrimeiro = a == alunos.size()
+                    || (c < cursos.size() && cursos.get(c).revisao() <= alunos.get(a).revisao());
+            if (cursosDaPagina.size() + alunosDaPagina.size() == limite) {
+                proximo = base + "." + ultimoCursor(cursosDaPagina, alunosDaPagina);
+                break;
+            }
+            if (cursoPrimeiro) {
+                cursosDaPagina.add(cursos.get(c++));
+            } else {
+                alunosDaPagina.add(alunos.get(a++));
+            }
+        }
+        return new Sincronizacao(ate, cursosDaPagina, alunosDaPagina, proximo);
+    }
+
+    // O último item da página é o maior na ordem (revisão, tipo, id): um aluno ganha de um curso na mesma revisão
+    private static String ultimoCursor(List<CursoSincronizado> cursos, List<AlunoSincronizado> alunos) {
+        CursoSincronizado curso = cursos.isEmpty() ? null : cursos.get(cursos.size() - 1);
+        AlunoSincronizado aluno = alunos.isEmpty() ? null : alunos.get(alunos.size() - 1);
+        if (aluno != null && (curso == null || aluno.revisao() >= curso.revisao())) {
+            return aluno.revisao() + "." + TIPO_ALUNO + "." + aluno.id();
+        }
+        return curso.revisao() + "." + TIPO_CURSO + "." + curso.id();
+    }
+
+    private static long[] lerCursor(String cursor) {
+        String[] partes = cursor.split("\\.");
+        try {
+            if (partes.length == 4) {
+                long[] chave = new long[4];
+                for (int i = 0; i < 4; i++) {
+                    chave[i] = Long.parseLong(partes[i]);
+                }
+                if (chave[2] == TIPO_CURSO || chave[2] == TIPO_ALUNO) {
+                    return chave;
+                }
+            }
+        } catch (NumberFormatException e) {
+            // Cai na exceção abaixo
+        }
+        throw new IllegalArgumentException("Cursor de sincronização inválido: " + cursor);
+    }
+}
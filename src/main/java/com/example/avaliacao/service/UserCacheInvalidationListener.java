@@ -0,0 +1,45 @@
+package com.example.avaliacao.service;
+
+import com.example.avaliacao.model.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Entity listener de {@link User}: tira o usuário do {@link UserLookupService} a cada insert, update ou delete.
+ * Invalida de novo ao fim da transação, para que uma leitura concorrente não deixe o valor antigo no cache.
+ */
+@Component
+public class UserCacheInvalidationListener {
+
+    // Lazy: o listener é criado junto com o EntityManagerFactory, antes dos repositórios
+    private final ObjectProvider<UserLookupService> userLookupService;
+
+    public UserCacheInvalidationListener(ObjectProvider<UserLookupService> userLookupService) {
+        this.userLookupService = userLookupService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void invalidar(User user) {
+        UserLookupService cache = userLookupService.getIfAvailable();
+        if (cache == null) {
+            return;
+        }
+        String username = user.getUsername();
+        cache.invalidar(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidar(username);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.avaliacao.service;
+
+import com.example.avaliacao.model.User;
+import com.example.avaliacao.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca de usuários por username com cache read-through, usada no login e no UserDetailsService.
+ * Usernames inexistentes também ficam em cache (por um TTL menor), então tentativas com usuários
+ * inventados não chegam ao banco. As entradas são invalidadas sempre que um {@link User} é gravado.
+ * <p>
+ * O cache é assíncrono: a consulta roda em um pool próprio de threads de plataforma, fora de qualquer bloco
+ * synchronized (com virtual threads no Java 21, o JDBC ali prenderia a thread portadora). Buscas simultâneas do
+ * mesmo username esperam a mesma consulta, e uma invalidação que chega com a consulta em andamento descarta o
+ * resultado dela em vez de deixá-lo em cache pelo TTL inteiro.
+ */
+@Service
+public class UserLookupService {
+
+    /**
+     * O que o login precisa de um usuário; nunca a entidade, que não deve sair da sessão JPA.
+     */
+    public record CachedUser(String username, String password, String role) {
+
+        static CachedUser de(User user) {
+            return new CachedUser(user.getUsername(), user.getPassword(), user.getRole());
+        }
+
+        // Não expõe o hash da senha em logs
+        @Override
+        public String toString() {
+            return "CachedUser[username=" + username + ", role=" + role + "]";
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final AsyncCache<String, Optional<CachedUser>> cache;
+    private final ExecutorService executor;
+
+    public UserLookupService(UserRepository userRepository,
+                             @Value("${usuarios.cache.ttl-ms:600000}") long ttlMs,
+                             @Value("${usuarios.cache.ttl-negativo-ms:30000}") long ttlNegativoMs,
+                             @Value("${usuarios.cache.tamanho-maximo:10000}") long tamanhoMaximo,
+                             @Value("${usuarios.cache.threads:4}") int threads,
+                             MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.executor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("busca-usuario-"));
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfter(new PorResultado(TimeUnit.MILLISECONDS.toNanos(ttlMs), TimeUnit.MILLISECONDS.toNanos(ttlNegativoMs)))
+                .executor(executor)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "usuarios");
+    }
+
+    /**
+     * @param username O nome de usuário.
+     * @return O usuário, ou vazio se não existir; em ambos os casos o resultado fica em cache.
+     */
+    public Optional<CachedUser> buscar(String username) {
+        try {
+            // Quem chama só espera o future; uma virtual thread esperando aqui libera a portadora
+            return cache.get(username, chave -> userRepository.findByUsername(chave).map(CachedUser::de)).join();
+        } catch (CompletionException e) {
+            // Falha na consulta: nada fica em cache e a exceção original segue adiante
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Remove o username do cache (positivo ou negativo), inclusive uma consulta ainda em andamento.
+     */
+    public void invalidar(String username) {
+        cache.synchronous().invalidate(username);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdown();
+    }
+
+    // Usuário encontrado vale por ttl; username inexistente, por ttlNegativo
+    private record PorResultado(long ttlNanos, long ttlNegativoNanos) implements Expiry<String, Optional<CachedUser>> {
+
+        @Override
+        public long expireAfterCreate(String username, Optional<CachedUser> usuario, long agora) {
+            return usuario.isPresent() ? ttlNanos : ttlNegativoNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String username, Optional<CachedUser> usuario, long agora, long duracaoAtual) {
+            return expireAfterCreate(username, usuario, agora);
+        }
+
+        @Override
+        public long expireAfterRead(String username, Optional<CachedUser> usuario, long agora, long duracaoAtual) {
+            return duracaoAtual;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.avaliacao.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * Cache de tokens JWT cuja assinatura já foi verificada, compartilhado pelo {@link JwtService}
+ * (POST /auth/validate) e pelo JwtDecoder do resource server.
+ * A chave é o SHA-256 do token, e cada entrada vale até o 'exp' do próprio token.
+ * <p>
+ * Os dois verificadores têm tolerâncias diferentes (o JWTVerifier do Auth0 não aceita atraso de relógio; o
+ * NimbusJwtDecoder aceita 60 s). O cache segue a mais estrita, para que nenhum deles receba daqui um token que
+ * recusaria: só guarda tokens com 'nbf' e 'iat' já alcançados e nunca devolve um token depois do 'exp'.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final MessageDigest SHA_256 = criarDigest();
+
+    private final Cache<String, Jwt> cache;
+
+    public VerifiedTokenCache(@Value("${jwt.cache.tamanho-maximo:10000}") long tamanhoMaximo,
+                              MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfter(new AteExpirarToken())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verificados");
+    }
+
+    /**
+     * Retorna o token já verificado ou verifica agora e guarda o resultado.
+     * Falhas de verificação são propagadas e não ficam no cache.
+     * @param token O token JWT recebido.
+     * @param verificador Faz a verificação completa (assinatura e datas) quando o token não está no cache.
+     * @return O token verificado.
+     */
+    public Jwt obter(String token, Function<String, Jwt> verificador) {
+        String chave = chave(token);
+        Jwt[] verificadoAgora = new Jwt[1];
+        Jwt jwt = cache.get(chave, k -> verificadoAgora[0] = verificador.apply(token));
+        if (verificadoAgora[0] != null || dentroDaValidade(jwt, Instant.now())) {
+            // Acabou de passar pelo próprio verificador, com a tolerância dele, ou continua válido sem tolerância
+            return jwt;
+        }
+        // A expiração do Caffeine não é instantânea; um token vencido volta ao verificador de quem chamou
+        cache.invalidate(chave);
+        return verificador.apply(token);
+    }
+
+    /**
+     * @return O token verificado, se estiver no cache; null caso contrário.
+     */
+    public Jwt buscar(String token) {
+        return cache.getIfPresent(chave(token));
+    }
+
+    // Clona um digest pronto em vez de procurar o provedor a cada chamada (MessageDigest não é thread-safe)
+    private static String chave(String token) {
+        try {
+            MessageDigest digest = (MessageDigest) SHA_256.clone();
+            byte[] hash = digest.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("SHA-256 da JVM não pode ser clonado", e);
+        }
+    }
+
+    private static MessageDigest criarDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível na JVM", e);
+        }
+    }
+
+    // Válido sem tolerância de relógio: já emitido, já em vigor e ainda não vencido
+    private static boolean dentroDaValidade(Jwt jwt, Instant agora) {
+        return jwt.getExpiresAt() != null && agora.isBefore(jwt.getExpiresAt())
+                && (jwt.getNotBefore() == null || !agora.isBefore(jwt.getNotBefore()))
+                && (jwt.getIssuedAt() == null || !agora.isBefore(jwt.getIssuedAt()));
+    }
+
+    // Cada token fica no cache só até o seu próprio 'exp', e só se já estiver em vigor
+    private static class AteExpirarToken implements Expiry<String, Jwt> {
+
+        @Override
+        public long expireAfterCreate(String chave, Jwt jwt, long agora) {
+            Instant instante = Instant.now();
+            if (!dentroDaValidade(jwt, instante)) {
+                return 0;
+            }
+            return Duration.between(instante, jwt.getExpiresAt()).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String chave, Jwt jwt, long agora, long duracaoAtual) {
+            return duracaoAtual;
+        }
+
+        @Override
+        public long expireAfterRead(String chave, Jwt jwt, long agora, long duracaoAtual) {
+            return duracaoAtual;
+        }
+    }
+}
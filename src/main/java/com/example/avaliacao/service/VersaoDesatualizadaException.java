@@ -0,0 +1,18 @@
+package com.example.avaliacao.service;
+
+/**
+ * A atualização foi condicionada a uma versão (If-Match) que não é mais a versão atual do registro.
+ */
+public class VersaoDesatualizadaException extends RuntimeException {
+
+    private final Long versaoAtual;
+
+    public VersaoDesatualizadaException(Long versaoAtual) {
+        super("O registro foi alterado desde a versão informada. Versão atual: " + versaoAtual);
+        this.versaoAtual = versaoAtual;
+    }
+
+    public Long getVersaoAtual() {
+        return versaoAtual;
+    }
+}
@@ -0,0 +1,72 @@
+-- Schema do perfil prod (PostgreSQL), executado na inicialização por spring.sql.init antes da validação do Hibernate
+-- (ddl-auto: validate). Idempotente: cria o que falta em um banco novo e completa um banco da versão anterior, sem
+-- mexer em dados. Toda alteração de entidade deve vir acompanhada da mudança correspondente aqui.
+
+-- Usuários e refresh tokens (POST /auth/login, /auth/refresh)
+CREATE TABLE IF NOT EXISTS users (
+    id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username varchar(255) NOT NULL UNIQUE,
+    password varchar(255) NOT NULL,
+    role varchar(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    hash bytea NOT NULL UNIQUE,
+    username varchar(255) NOT NULL,
+    familia bigint NOT NULL,
+    expira_em timestamp(6) with time zone NOT NULL,
+    usado boolean NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_familia ON refresh_tokens (familia);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expira_em ON refresh_tokens (expira_em);
+
+-- Cursos e alunos
+CREATE TABLE IF NOT EXISTS curso (
+    id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome_curso varchar(255),
+    descricao varchar(255),
+    carga_horaria integer
+);
+-- Lock otimista (ETag / If-Match) e sincronização incremental (GET /sync)
+ALTER TABLE curso ADD COLUMN IF NOT EXISTS versao bigint NOT NULL DEFAULT 0;
+ALTER TABLE curso ADD COLUMN IF NOT EXISTS revisao bigint NOT NULL DEFAULT 0;
+ALTER TABLE curso ADD COLUMN IF NOT EXISTS removido boolean NOT NULL DEFAULT false;
+CREATE INDEX IF NOT EXISTS idx_curso_revisao ON curso (revisao, id);
+
+CREATE TABLE IF NOT EXISTS aluno (
+    id bigint PRIMARY KEY,
+    nome varchar(255),
+    email varchar(255),
+    data_nascimento date,
+    curso_id bigint REFERENCES curso (id)
+);
+ALTER TABLE aluno ADD COLUMN IF NOT EXISTS nome_normalizado varchar(255);
+ALTER TABLE aluno ADD COLUMN IF NOT EXISTS versao bigint NOT NULL DEFAULT 0;
+ALTER TABLE aluno ADD COLUMN IF NOT EXISTS revisao bigint NOT NULL DEFAULT 0;
+ALTER TABLE aluno ADD COLUMN IF NOT EXISTS removido boolean NOT NULL DEFAULT false;
+CREATE INDEX IF NOT EXISTS idx_aluno_email ON aluno (email);
+CREATE INDEX IF NOT EXISTS idx_aluno_nome_normalizado ON aluno (nome_normalizado);
+CREATE INDEX IF NOT EXISTS idx_aluno_curso_nascimento ON aluno (curso_id, data_nascimento);
+CREATE INDEX IF NOT EXISTS idx_aluno_nascimento ON aluno (data_nascimento);
+CREATE INDEX IF NOT EXISTS idx_aluno_revisao ON aluno (revisao, id);
+
+-- Ids de aluno em blocos de 50 (allocationSize). Em um banco que usava IDENTITY, a sequência passa para depois do
+-- maior id existente. Com a sequência em uso, nenhum id passa de last_value e o setval não roda: ele nunca volta
+-- a sequência atrás de outra instância
+CREATE SEQUENCE IF NOT EXISTS aluno_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('aluno_seq', (SELECT MAX(id) FROM aluno) + 1)
+WHERE (SELECT COALESCE(MAX(id), 0) FROM aluno) > (SELECT last_value FROM aluno_seq);
+
+-- Outbox (GET /changes)
+CREATE TABLE IF NOT EXISTS outbox (
+    id bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    entidade varchar(16) NOT NULL,
+    entidade_id bigint NOT NULL,
+    operacao varchar(16) NOT NULL,
+    ocorrido_em timestamp(6) with time zone NOT NULL,
+    posicao bigint CONSTRAINT idx_outbox_posicao UNIQUE,
+    publicado boolean NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_outbox_publicado_posicao ON outbox (publicado, posicao);
+
@@ -0,0 +1,127 @@
+package com.example.avaliacao;
+
+import com.example.avaliacao.model.Aluno;
+import com.example.avaliacao.model.Curso;
+import com.example.avaliacao.repository.AlunoRepository;
+import com.example.avaliacao.repository.CursoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// GET /alunos/search: filtros combináveis sobre colunas indexadas
+@SpringBootTest
+@AutoConfigureMockMvc
+class AlunoBuscaTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Curso java;
+    private Curso python;
+
+    @BeforeEach
+    void setUp() {
+        java = cursoRepository.save(new Curso(null, "Java", "Descrição", 40, new ArrayList<>()));
+        python = cursoRepository.save(new Curso(null, "Python", "Descrição", 40, new ArrayList<>()));
+        alunoRepository.saveAll(List.of(
+                new Aluno(null, "José Álvares", "jose@exemplo.com", Date.valueOf("2000-03-10"), java),
+                new Aluno(null, "Josefa Lima", "josefa@exemplo.com", Date.valueOf("2002-07-01"), python),
+                new Aluno(null, "Maria José", "maria@exemplo.com", Date.valueOf("2004-10-10"), java),
+                new Aluno(null, "100%_Ana", "ana@exemplo.com", Date.valueOf("2001-01-01"), python)));
+    }
+
+    @AfterEach
+    void limpar() {
+        alunoRepository.deleteAllInBatch();
+        cursoRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testPrefixoIgnoraAcentosEMaiusculas() throws Exception {
+        mockMvc.perform(get("/alunos/search").param("nome", "JOSE").with(usuario()))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[*].nome", contains("José Álvares", "Josefa Lima")));
+
+        mockMvc.perform(get("/alunos/search").param("nomeContem", "jose").with(usuario()))
+               .andExpect(jsonPath("$[*].nome", contains("José Álvares", "Josefa Lima", "Maria José")));
+    }
+
+    @Test
+    void testFiltrosCombinados() throws Exception {
+        mockMvc.perform(get("/alunos/search")
+                        .param("cursoId", java.getId().toString())
+                        .param("nascidoDe", "2003-01-01")
+                        .param("nascidoAte", "2005-12-31")
+                        .with(usuario()))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[*].email", contains("maria@exemplo.com")));
+
+        mockMvc.perform(get("/alunos/search").param("email", "josefa@exemplo.com").with(usuario()))
+               .andExpect(jsonPath("$[*].cursoId", contains(python.getId().intValue())));
+    }
+
+    // % e _ digitados pelo usuário são literais, não curingas do LIKE
+    @Test
+    void testCuringasSaoLiterais() throws Exception {
+        mockMvc.perform(get("/alunos/search").param("nome", "100%_").with(usuario()))
+               .andExpect(jsonPath("$[*].nome", contains("100%_Ana")));
+        mockMvc.perform(get("/alunos/search").param("nomeContem", "_").with(usuario()))
+               .andExpect(jsonPath("$[*].nome", contains("100%_Ana")));
+    }
+
+    @Test
+    void testPaginacaoPorCursorEFaixaInvalida() throws Exception {
+        mockMvc.perform(get("/alunos/search").param("nomeContem", "jos").param("size", "2").with(usuario()))
+               .andExpect(jsonPath("$.length()").value(2))
+               .andExpect(header().exists("X-Next-Cursor"));
+
+        mockMvc.perform(get("/alunos/search").param("nascidoDe", "2005-01-01").param("nascidoAte", "2000-01-01").with(usuario()))
+               .andExpect(status().isBadRequest());
+    }
+
+    // Os índices declarados na entidade existem e são os escolhidos pelo H2
+    @Test
+    void testConsultasUsamOsIndices() {
+        assertTrue(plano("SELECT id FROM aluno WHERE email = 'jose@exemplo.com'").contains("IDX_ALUNO_EMAIL"));
+        assertTrue(plano("SELECT id FROM aluno WHERE nome_normalizado LIKE 'jos%'").contains("IDX_ALUNO_NOME_NORMALIZADO"));
+        assertTrue(plano("SELECT id FROM aluno WHERE data_nascimento BETWEEN DATE '2000-01-01' AND DATE '2001-01-01'")
+                .contains("IDX_ALUNO_NASCIMENTO"));
+    }
+
+    private String plano(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class).toUpperCase(Locale.ROOT);
+    }
+
+    private static RequestPostProcessor usuario() {
+        return jwt().authorities(new SimpleGrantedAuthority("ROLE_USER"));
+    }
+}
@@ -1,9 +1,13 @@
 package com.example.avaliacao;
 
+import com.example.avaliacao.dto.AlunoResumo;
+import com.example.avaliacao.dto.Pagina;
+import com.example.avaliacao.dto.ResultadoExclusao;
 import com.example.avaliacao.model.Aluno;
 import com.example.avaliacao.model.Curso;
 import com.example.avaliacao.controller.AlunoController;
 import com.example.avaliacao.service.AlunoService;
+import com.example.avaliacao.service.VersaoDesatualizadaException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -19,6 +23,7 @@ import java.sql.Date;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 
 class AlunoControllerTest {
@@ -52,14 +57,25 @@ class AlunoControllerTest {
 
     @Test
     void testListarAlunos() {
-        Aluno aluno = new Aluno();
-        aluno.setNome("Ana");
-        when(alunoService.listarAlunos()).thenReturn(List.of(aluno));
+        AlunoResumo aluno = new AlunoResumo(1L, "Ana", null, null, null);
+        when(alunoService.listarAlunos(null, null)).thenReturn(new Pagina<>(List.of(aluno), null));
 
-        ResponseEntity<List<Aluno>> response = alunoController.listarAlunos();
+        ResponseEntity<List<AlunoResumo>> response = alunoController.listarAlunos(null, null);
 
         assertThat(response.getStatusCodeValue()).isEqualTo(200);
         assertThat(response.getBody()).hasSize(1);
+        assertThat(response.getHeaders().containsKey(Pagina.CABECALHO_PROXIMO_CURSOR)).isFalse();
+    }
+
+    @Test
+    void testListarAlunosComProximaPagina() {
+        AlunoResumo aluno = new AlunoResumo(7L, "Ana", null, null, 1L);
+        when(alunoService.listarAlunos(3L, 1)).thenReturn(new Pagina<>(List.of(aluno), 7L));
+
+        ResponseEntity<List<AlunoResumo>> response = alunoController.listarAlunos(3L, 1);
+
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        assertThat(response.getHeaders().getFirst(Pagina.CABECALHO_PROXIMO_CURSOR)).isEqualTo("7");
     }
 
     @Test
@@ -88,9 +104,9 @@ class AlunoControllerTest {
         Aluno alunoAtualizado = new Aluno();
         alunoAtualizado.setNome("Atualizado");
 
-        when(alunoService.atualizarAluno(eq(1L), any())).thenReturn(Optional.of(alunoAtualizado));
+        when(alunoService.atualizarAluno(eq(1L), any(), isNull())).thenReturn(Optional.of(alunoAtualizado));
 
-        ResponseEntity<?> response = alunoController.atualizarAluno(1L, alunoAtualizado);
+        ResponseEntity<?> response = alunoController.atualizarAluno(1L, alunoAtualizado, null);
 
         assertThat(response.getStatusCodeValue()).isEqualTo(200);
         assertThat(response.getBody()).isEqualTo(alunoAtualizado);
@@ -98,13 +114,23 @@ class AlunoControllerTest {
 
     @Test
     void testAtualizarAlunoNaoEncontrado() {
-        when(alunoService.atualizarAluno(eq(1L), any())).thenReturn(Optional.empty());
+        when(alunoService.atualizarAluno(eq(1L), any(), isNull())).thenReturn(Optional.empty());
 
-        ResponseEntity<?> response = alunoController.atualizarAluno(1L, new Aluno());
+        ResponseEntity<?> response = alunoController.atualizarAluno(1L, new Aluno(), null);
 
         assertThat(response.getStatusCodeValue()).isEqualTo(404);
     }
 
+    @Test
+    void testAtualizarAlunoComVersaoDesatualizada() {
+        when(alunoService.atualizarAluno(eq(1L), any(), eq(2L))).thenThrow(new VersaoDesatualizadaException(3L));
+
+        ResponseEntity<?> response = alunoController.atualizarAluno(1L, new Aluno(), "\"2\"");
+
+        assertThat(response.getStatusCode().value()).isEqualTo(412);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"3\"");
+    }
+
     @Test
     void testDeletarAlunoComSucesso() {
         when(alunoService.deletarAluno(1L)).thenReturn(true);
@@ -122,4 +148,14 @@ class AlunoControllerTest {
 
         assertThat(response.getStatusCodeValue()).isEqualTo(404);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testDeletarAlunosEmLote() {
+        when(alunoService.deletarAlunos(List.of(1L, 2L, 2L, 3L))).thenReturn(2);
+
+        ResponseEntity<?> response = alunoController.deletarAlunos(List.of(1L, 2L, 2L, 3L));
+
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(response.getBody()).isEqualTo(new ResultadoExclusao(3, 2));
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.avaliacao;
+
+import com.example.avaliacao.model.Curso;
+import com.example.avaliacao.repository.AlunoRepository;
+import com.example.avaliacao.repository.CursoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Importação em lote: relatório por linha e cursos validados antes da gravação
+@SpringBootTest(properties = "alunos.importacao.tamanho-lote=2")
+@AutoConfigureMockMvc
+class AlunoImportacaoTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @AfterEach
+    void limpar() {
+        alunoRepository.deleteAllInBatch();
+        cursoRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testImportarJson() throws Exception {
+        Long cursoId = cursoRepository.save(new Curso(null, "Java", "Descrição", 40, new ArrayList<>())).getId();
+        String corpo = """
+                [
+                  { "nome": "Ana", "email": "ana@exemplo.com", "dataNascimento": "2004-10-10", "cursoId": %d },
+                  { "nome": "Bruno", "curso": { "id": %d } },
+                  { "nome": "Carla", "cursoId": 999999 },
+                  { "nome": "Davi", "dataNascimento": "ontem" },
+                  { "nome": "Eva" }
+                ]
+                """.formatted(cursoId, cursoId);
+
+        mockMvc.perform(post("/alunos/bulk")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN")))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(corpo))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.total").value(5))
+               .andExpect(jsonPath("$.importados").value(3))
+               .andExpect(jsonPath("$.rejeitados").value(2))
+               .andExpect(jsonPath("$.linhas[0].status").value("IMPORTADO"))
+               .andExpect(jsonPath("$.linhas[2].status").value("REJEITADO"))
+               .andExpect(jsonPath("$.linhas[2].erro").value("Curso não encontrado: 999999"))
+               .andExpect(jsonPath("$.linhas[3].linha").value(4))
+               .andExpect(jsonPath("$.linhas[3].status").value("REJEITADO"));
+
+        assertEquals(3, alunoRepository.count());
+    }
+
+    @Test
+    void testImportarCsv() throws Exception {
+        Long cursoId = cursoRepository.save(new Curso(null, "Java", "Descrição", 40, new ArrayList<>())).getId();
+        String corpo = """
+                nome,email,dataNascimento,cursoId
+                Ana,ana@exemplo.com,2004-10-10,%d
+                "Silva, Bruno",,,%d
+                Carla,carla@exemplo.com,10/10/2004,%d
+                """.formatted(cursoId, cursoId, cursoId);
+
+        mockMvc.perform(post("/alunos/bulk")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN")))
+                        .contentType("text/csv")
+                        .content(corpo))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.importados").value(2))
+               .andExpect(jsonPath("$.linhas[2].status").value("REJEITADO"));
+
+        assertEquals(2, alunoRepository.count());
+    }
+
+    @Test
+    void testCorpoMalFormadoRetorna400() throws Exception {
+        mockMvc.perform(post("/alunos/bulk")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN")))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\": \"Ana\"}"))
+               .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testImportacaoExigeAdmin() throws Exception {
+        mockMvc.perform(post("/alunos/bulk")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_USER")))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+               .andExpect(status().isForbidden());
+    }
+}
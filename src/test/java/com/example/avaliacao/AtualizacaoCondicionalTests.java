@@ -0,0 +1,123 @@
+package com.example.avaliacao;
+
+import com.example.avaliacao.model.Aluno;
+import com.example.avaliacao.model.Curso;
+import com.example.avaliacao.repository.AlunoRepository;
+import com.example.avaliacao.repository.CursoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// PUT condicional: If-Match contra a @Version, 412 para versão velha e nenhum UPDATE quando nada mudou
+@SpringBootTest
+@AutoConfigureMockMvc
+class AtualizacaoCondicionalTests {
+
+    private static final String CURSO = """
+            {"nomeCurso": "%s", "descricao": "Descrição", "cargaHoraria": 40}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void limpar() {
+        alunoRepository.deleteAllInBatch();
+        cursoRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testIfMatchComVersaoAtualGravaEDevolveNovaETag() throws Exception {
+        Long id = cursoRepository.save(new Curso(null, "Java", "Descrição", 40, new ArrayList<>())).getId();
+
+        // A ETag do curso é composta (versão + resumo dos alunos) e começa pela versão
+        String etag = mockMvc.perform(put("/cursos/{id}", id)
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN")))
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(CURSO.formatted("Java avançado")))
+               .andExpect(status().isOk())
+               .andExpect(header().string("ETag", startsWith("\"1-")))
+               .andExpect(jsonPath("$.versao").value(1))
+               .andReturn().getResponse().getHeader("ETag");
+
+        // A mesma ETag de antes agora está velha: nada é gravado e a resposta informa a ETag atual
+        mockMvc.perform(put("/cursos/{id}", id)
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN")))
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(CURSO.formatted("Outro nome")))
+               .andExpect(status().isPreconditionFailed())
+               .andExpect(header().string("ETag", etag));
+
+        assertEquals("Java avançado", cursoRepository.findById(id).orElseThrow().getNomeCurso());
+    }
+
+    @Test
+    void testETagDo412ServeParaRevalidarOGet() throws Exception {
+        Curso curso = cursoRepository.save(new Curso(null, "Java", "Descrição", 40, new ArrayList<>()));
+        alunoRepository.save(new Aluno(null, "Ana", "ana@exemplo.com", null, curso));
+
+        String etag = mockMvc.perform(put("/cursos/{id}", curso.getId())
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN")))
+                        .header("If-Match", "\"7\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(CURSO.formatted("Outro nome")))
+               .andExpect(status().isPreconditionFailed())
+               .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/cursos/{id}", curso.getId())
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_USER")))
+                        .header("If-None-Match", etag))
+               .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void testAtualizacaoSemMudancaNaoEmiteUpdate() throws Exception {
+        Curso curso = cursoRepository.save(new Curso(null, "Java", "Descrição", 40, new ArrayList<>()));
+        Aluno aluno = alunoRepository.save(new Aluno(null, "Ana", "ana@exemplo.com", null, curso));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(put("/alunos/{id}", aluno.getId())
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN")))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"nome": "Ana", "email": "ana@exemplo.com", "curso": {"id": %d}, "versao": 99}
+                                """.formatted(curso.getId())))
+               .andExpect(status().isOk())
+               .andExpect(header().string("ETag", "\"0\""));
+
+        // A versão enviada no corpo é ignorada e, sem alteração, não há UPDATE
+        assertEquals(0, statistics.getEntityUpdateCount());
+        assertEquals(0L, alunoRepository.findById(aluno.getId()).orElseThrow().getVersao());
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.avaliacao;
+
+import com.example.avaliacao.model.User;
+import com.example.avaliacao.repository.UserRepository;
+import com.example.avaliacao.service.AuthService;
+import com.example.avaliacao.service.JwtService;
+import com.example.avaliacao.service.PasswordHashService;
+import com.example.avaliacao.service.UserLookupService;
+import com.example.avaliacao.service.UserLookupService.CachedUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AuthServiceTest {
+
+    @Mock
+    private UserLookupService userLookupService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordHashService passwordHashService;
+
+    @Mock
+    private JwtService jwtService;
+
+    @InjectMocks
+    private AuthService authService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    // Login com hash de custo antigo regrava o hash
+    @Test
+    void testLoginAtualizaHashAntigo() {
+        User user = new User(1L, "admin", "$2a$04$hashAntigo", "ADMIN");
+        when(userLookupService.buscar("admin")).thenReturn(Optional.of(new CachedUser("admin", "$2a$04$hashAntigo", "ADMIN")));
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(user));
+        when(passwordHashService.matches("123456", "$2a$04$hashAntigo")).thenReturn(true);
+        when(passwordHashService.precisaRehash("$2a$04$hashAntigo")).thenReturn(true);
+        when(passwordHashService.encode("123456")).thenReturn("{bcrypt}$2a$12$hashNovo");
+        when(jwtService.generateToken("admin", "ADMIN")).thenReturn("token");
+
+        assertEquals("token", authService.authenticateUserAndGenerateToken("admin", "123456"));
+        assertEquals("{bcrypt}$2a$12$hashNovo", user.getPassword());
+        verify(userRepository).save(user);
+    }
+
+    // Login com hash atual não regrava nada
+    @Test
+    void testLoginComHashAtualNaoRegrava() {
+        CachedUser user = new CachedUser("admin", "{bcrypt}$2a$12$hashAtual", "ADMIN");
+        when(userLookupService.buscar("admin")).thenReturn(Optional.of(user));
+        when(passwordHashService.matches("123456", user.password())).thenReturn(true);
+        when(passwordHashService.precisaRehash(user.password())).thenReturn(false);
+        when(jwtService.generateToken("admin", "ADMIN")).thenReturn("token");
+
+        authService.authenticateUserAndGenerateToken("admin", "123456");
+
+        verify(passwordHashService, never()).encode(any());
+        verify(userRepository, never()).save(any());
+    }
+
+    // Senha errada não dispara regravação
+    @Test
+    void testSenhaIncorretaNaoRegrava() {
+        CachedUser user = new CachedUser("admin", "$2a$04$hashAntigo", "ADMIN");
+        when(userLookupService.buscar("admin")).thenReturn(Optional.of(user));
+        when(passwordHashService.matches("errada", user.password())).thenReturn(false);
+
+        assertThrows(BadCredentialsException.class, () -> authService.authenticateUserAndGenerateToken("admin", "errada"));
+        verify(userRepository, never()).save(any());
+    }
+
+    // Pool de hash saturado é propagado para o controller responder 503
+    @Test
+    void testPoolDeHashSaturado() {
+        CachedUser user = new CachedUser("admin", "{bcrypt}$2a$12$hashAtual", "ADMIN");
+        when(userLookupService.buscar("admin")).thenReturn(Optional.of(user));
+        when(passwordHashService.matches(any(), any())).thenThrow(new RejectedExecutionException());
+
+        assertThrows(RejectedExecutionException.class, () -> authService.authenticateUserAndGenerateToken("admin", "123456"));
+    }
+
+    // Usuário inexistente é recusado sem consultar o repositório (vem do cache negativo)
+    @Test
+    void testUsuarioInexistente() {
+        when(userLookupService.buscar("ninguem")).thenReturn(Optional.empty());
+
+        assertThrows(BadCredentialsException.class, () -> authService.authenticateUserAndGenerateToken("ninguem", "x"));
+        verifyNoInteractions(userRepository, passwordHashService);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.avaliacao;
+
+import com.example.avaliacao.config.CompressaoRespostaFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressaoRespostaFilterTest {
+
+    private SimpleMeterRegistry registry;
+    private CompressaoRespostaFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        filter = new CompressaoRespostaFilter(true, 1024, 6, List.of("application/json", "application/x-ndjson"), registry);
+    }
+
+    @Test
+    void testComprimeRespostaAcimaDoLimite() throws Exception {
+        String corpo = "{\"nome\":\"Aluno\"},".repeat(500);
+        MockHttpServletResponse response = executar("gzip, deflate", "application/json", corpo);
+
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertTrue(response.getHeaders("Vary").contains("Accept-Encoding"));
+        byte[] comprimido = response.getContentAsByteArray();
+        assertTrue(comprimido.length < corpo.length());
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(comprimido))) {
+            assertEquals(corpo, new String(gzip.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        assertEquals(1, registry.get("http.compressao.razao").summary().count());
+        assertEquals(corpo.length(), registry.get("http.compressao.bytes").tag("estado", "original").counter().count());
+    }
+
+    @Test
+    void testRespostaPequenaVaiSemCompressao() throws Exception {
+        MockHttpServletResponse response = executar("gzip", "application/json", "{\"nome\":\"Aluno\"}");
+
+        assertNull(response.getHeader("Content-Encoding"));
+        assertEquals("{\"nome\":\"Aluno\"}", response.getContentAsString());
+        assertEquals(1, registry.get("http.compressao.respostas").tag("resultado", "abaixo-do-limite").counter().count());
+    }
+
+    @Test
+    void testTipoForaDaListaOuClienteSemGzip() throws Exception {
+        String corpo = "x".repeat(5000);
+
+        assertNull(executar("gzip", "image/png", corpo).getHeader("Content-Encoding"));
+        assertNull(executar("identity", "application/json", corpo).getHeader("Content-Encoding"));
+        assertNull(executar("gzip;q=0", "application/json", corpo).getHeader("Content-Encoding"));
+    }
+
+    private MockHttpServletResponse executar(String acceptEncoding, String contentType, String corpo) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/alunos");
+        request.addHeader("Accept-Encoding", acceptEncoding);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        // Escreve em pedaços, como o Jackson faz com o buffer dele
+        FilterChain chain = (req, res) -> {
+            res.setContentType(contentType);
+            byte[] bytes = corpo.getBytes(StandardCharsets.UTF_8);
+            for (int inicio = 0; inicio < bytes.length; inicio += 300) {
+                res.getOutputStream().write(bytes, inicio, Math.min(300, bytes.length - inicio));
+                res.getOutputStream().flush();
+            }
+        };
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
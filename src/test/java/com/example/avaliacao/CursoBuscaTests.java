@@ -0,0 +1,118 @@
+package com.example.avaliacao;
+
+import com.example.avaliacao.model.Curso;
+import com.example.avaliacao.service.CursoAlterado;
+import com.example.avaliacao.service.CursoBuscaService;
+import com.example.avaliacao.service.CursoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// GET /cursos/search: índice Lucene atualizado pelas gravações do CursoService
+@SpringBootTest
+@AutoConfigureMockMvc
+@RecordApplicationEvents
+class CursoBuscaTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CursoService cursoService;
+
+    @Autowired
+    private CursoBuscaService cursoBuscaService;
+
+    @Autowired
+    private ApplicationEvents eventos;
+
+    private final List<Long> criados = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        // A reconstrução da inicialização roda em segundo plano
+        await().atMost(Duration.ofSeconds(10)).until(cursoBuscaService::isIndiceCompleto);
+        criar("Programação Java", "Orientação a objetos e coleções");
+        criar("Banco de Dados", "Modelagem relacional e programação em SQL");
+        criar("Culinária", "Receitas básicas");
+    }
+
+    @AfterEach
+    void limpar() {
+        criados.forEach(cursoService::deletarCurso);
+    }
+
+    // Sem acento e com outra flexão da palavra; o termo no nome pesa mais que na descrição
+    @Test
+    void testBuscaOrdenadaPorRelevancia() throws Exception {
+        mockMvc.perform(get("/cursos/search").param("q", "programacao").with(usuario()))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.total").value(2))
+               .andExpect(jsonPath("$.indiceCompleto").value(true))
+               .andExpect(jsonPath("$.itens[*].nomeCurso", contains("Programação Java", "Banco de Dados")));
+
+        mockMvc.perform(get("/cursos/search").param("q", "programacao").param("size", "1").param("page", "1").with(usuario()))
+               .andExpect(jsonPath("$.itens[*].nomeCurso", contains("Banco de Dados")));
+    }
+
+    @Test
+    void testIndiceAcompanhaAtualizacaoEExclusao() throws Exception {
+        Long culinaria = criados.get(2);
+        cursoService.atualizarCurso(culinaria, new Curso(null, "Receitas Veganas", "Cozinha sem ingredientes animais", 20, null), null);
+
+        mockMvc.perform(get("/cursos/search").param("q", "culinária").with(usuario()))
+               .andExpect(jsonPath("$.total").value(0));
+        mockMvc.perform(get("/cursos/search").param("q", "veganas").with(usuario()))
+               .andExpect(jsonPath("$.itens[*].id", contains(culinaria.intValue())));
+
+        assertTrue(cursoService.deletarCurso(culinaria));
+        mockMvc.perform(get("/cursos/search").param("q", "veganas").with(usuario()))
+               .andExpect(jsonPath("$.total").value(0));
+    }
+
+    // Um PUT sem mudança não publica CursoAlterado: nada de reindexar
+    @Test
+    void testAtualizacaoSemMudancaNaoReindexa() {
+        Long java = criados.get(0);
+        eventos.clear();
+        cursoService.atualizarCurso(java, new Curso(null, "Programação Java", "Orientação a objetos e coleções", 40, null), null);
+        assertEquals(0, eventos.stream(CursoAlterado.class).count());
+    }
+
+    @Test
+    void testTextoVazioOuSoStopwords() throws Exception {
+        mockMvc.perform(get("/cursos/search").param("q", " ").with(usuario()))
+               .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/cursos/search").param("q", "de e a").with(usuario()))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.total").value(0));
+    }
+
+    private void criar(String nome, String descricao) {
+        criados.add(cursoService.salvarCurso(new Curso(null, nome, descricao, 40, new ArrayList<>())).getId());
+    }
+
+    private static RequestPostProcessor usuario() {
+        return jwt().authorities(new SimpleGrantedAuthority("ROLE_USER"));
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.avaliacao;
+
+import com.example.avaliacao.model.Curso;
+import com.example.avaliacao.repository.CursoRepository;
+import com.example.avaliacao.service.CursoService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Cache de segundo nível de Curso: leituras repetidas não vão ao banco e alterações pela API não deixam dado velho
+@SpringBootTest
+class CursoCacheTests {
+
+    @Autowired
+    private CursoService cursoService;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void limpar() {
+        cursoRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testBuscaRepetidaVemDoCache() {
+        Long id = cursoService.salvarCurso(new Curso(null, "Java", "Descrição", 40, new ArrayList<>())).getId();
+        cursoService.buscarCursoPorId(id);
+
+        statistics.clear();
+        assertEquals("Java", cursoService.buscarCursoPorId(id).orElseThrow().getNomeCurso());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("cursos").getHitCount());
+    }
+
+    @Test
+    void testAtualizacaoNaoDeixaDadoVelho() {
+        Long id = cursoService.salvarCurso(new Curso(null, "Java", "Descrição", 40, new ArrayList<>())).getId();
+        cursoService.buscarCursoPorId(id);
+
+        cursoService.atualizarCurso(id, new Curso(null, "Java Avançado", "Descrição", 80, null), null);
+
+        Curso curso = cursoService.buscarCursoPorId(id).orElseThrow();
+        assertEquals("Java Avançado", curso.getNomeCurso());
+        assertEquals(80, curso.getCargaHoraria());
+    }
+
+    @Test
+    void testExclusaoRemoveDoCache() {
+        Long id = cursoService.salvarCurso(new Curso(null, "Java", "Descrição", 40, new ArrayList<>())).getId();
+        cursoService.buscarCursoPorId(id);
+
+        assertTrue(cursoService.deletarCurso(id));
+
+        assertTrue(cursoService.buscarCursoPorId(id).isEmpty());
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.avaliacao;
 
+import com.example.avaliacao.dto.AlunoResumo;
+import com.example.avaliacao.dto.CursoResumo;
+import com.example.avaliacao.dto.Pagina;
 import com.example.avaliacao.model.Curso;
 import com.example.avaliacao.service.CursoService;
 import com.example.avaliacao.controller.CursoController;
@@ -24,6 +27,7 @@ class CursoControllerTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(cursoService.versoesDosAlunos(any())).thenReturn(List.of());
     }
 
     // Testar POST /cursos
@@ -43,13 +47,39 @@ class CursoControllerTest {
     // Testar GET /cursos
     @Test
     void testListarCursos() {
-        List<Curso> cursos = List.of(new Curso(1L, "Curso A", "Descrição", 60, new ArrayList<>()));
-        when(cursoService.listarCursos()).thenReturn(cursos);
+        List<CursoResumo> cursos = List.of(new CursoResumo(1L, "Curso A", "Descrição", 60));
+        when(cursoService.listarCursos(null, null, false)).thenReturn(new Pagina<>(cursos, null));
 
-        ResponseEntity<List<Curso>> response = cursoController.listarCursos();
+        ResponseEntity<List<CursoResumo>> response = cursoController.listarCursos(null, null, null);
 
         assertEquals(200, response.getStatusCodeValue());
         assertEquals(cursos, response.getBody());
+        assertNull(response.getHeaders().getFirst(Pagina.CABECALHO_PROXIMO_CURSOR));
+    }
+
+    // Testar GET /cursos com cursor da próxima página
+    @Test
+    void testListarCursos_ComProximaPagina() {
+        List<CursoResumo> cursos = List.of(new CursoResumo(5L, "Curso B", "Descrição", 40));
+        when(cursoService.listarCursos(2L, 1, false)).thenReturn(new Pagina<>(cursos, 5L));
+
+        ResponseEntity<List<CursoResumo>> response = cursoController.listarCursos(2L, 1, null);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals("5", response.getHeaders().getFirst(Pagina.CABECALHO_PROXIMO_CURSOR));
+    }
+
+    // Testar GET /cursos?expand=alunos
+    @Test
+    void testListarCursos_ExpandindoAlunos() {
+        List<AlunoResumo> alunos = List.of(new AlunoResumo(10L, "Ana", null, null, 1L));
+        List<CursoResumo> cursos = List.of(new CursoResumo(1L, "Curso A", "Descrição", 60, alunos));
+        when(cursoService.listarCursos(null, null, true)).thenReturn(new Pagina<>(cursos, null));
+
+        ResponseEntity<List<CursoResumo>> response = cursoController.listarCursos(null, null, "alunos");
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(alunos, response.getBody().get(0).alunos());
     }
 
     // Testar GET /cursos/{id} quando encontrar
@@ -80,9 +110,9 @@ class CursoControllerTest {
         Curso novo = new Curso(null, "Atualizado", "Novo", 40, new ArrayList<>());
         Curso atualizado = new Curso(1L, "Atualizado", "Novo", 40, new ArrayList<>());
 
-        when(cursoService.atualizarCurso(1L, novo)).thenReturn(Optional.of(atualizado));
+        when(cursoService.atualizarCurso(1L, novo, null)).thenReturn(Optional.of(atualizado));
 
-        ResponseEntity<?> response = cursoController.atualizarCurso(1L, novo);
+        ResponseEntity<?> response = cursoController.atualizarCurso(1L, novo, null);
 
         assertEquals(200, response.getStatusCodeValue());
         assertEquals(atualizado, response.getBody());
@@ -92,13 +122,27 @@ class CursoControllerTest {
     @Test
     void testAtualizarCurso_NaoEncontrado() {
         Curso novo = new Curso(null, "Atualizado", "Novo", 40, new ArrayList<>());
-        when(cursoService.atualizarCurso(1L, novo)).thenReturn(Optional.empty());
+        when(cursoService.atualizarCurso(1L, novo, null)).thenReturn(Optional.empty());
 
-        ResponseEntity<?> response = cursoController.atualizarCurso(1L, novo);
+        ResponseEntity<?> response = cursoController.atualizarCurso(1L, novo, null);
 
         assertEquals(404, response.getStatusCodeValue());
     }
 
+    // Testar PUT /cursos/{id} - If-Match vira a versão exigida e a resposta traz a ETag da nova versão
+    @Test
+    void testAtualizarCurso_ComIfMatch() {
+        Curso novo = new Curso(null, "Atualizado", "Novo", 40, new ArrayList<>());
+        Curso atualizado = new Curso(1L, "Atualizado", "Novo", 40, new ArrayList<>());
+        atualizado.setVersao(3L);
+        when(cursoService.atualizarCurso(1L, novo, 2L)).thenReturn(Optional.of(atualizado));
+
+        ResponseEntity<?> response = cursoController.atualizarCurso(1L, novo, "W/\"x\", \"2\"");
+
+        assertEquals(200, response.getStatusCode().value());
+        assertTrue(response.getHeaders().getETag().startsWith("\"3-"));
+    }
+
     // Testar DELETE /cursos/{id} - sucesso
     @Test
     void testDeletarCurso_Sucesso() {
@@ -0,0 +1,99 @@
+package com.example.avaliacao;
+
+import com.example.avaliacao.model.Aluno;
+import com.example.avaliacao.model.Curso;
+import com.example.avaliacao.repository.AlunoRepository;
+import com.example.avaliacao.repository.CursoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// GET /cursos/stats: uma consulta agregada, qualquer que seja o número de alunos
+@SpringBootTest
+@AutoConfigureMockMvc
+class EstatisticasCursoTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        alunoRepository.deleteAllInBatch();
+        cursoRepository.deleteAllInBatch();
+    }
+
+    @AfterEach
+    void limpar() {
+        alunoRepository.deleteAllInBatch();
+        cursoRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testContagensFaixasEtariasECursoSemAlunos() throws Exception {
+        Curso java = cursoRepository.save(new Curso(null, "Java", "Descrição", 40, new ArrayList<>()));
+        Curso vazio = cursoRepository.save(new Curso(null, "Kotlin", "Descrição", 60, new ArrayList<>()));
+        LocalDate hoje = LocalDate.now();
+        alunoRepository.saveAll(List.of(
+                aluno("Ana", hoje.minusYears(17), java),
+                aluno("Bruno", hoje.minusYears(18).minusDays(1), java),
+                aluno("Carla", hoje.minusYears(30), java),
+                aluno("Davi", hoje.minusYears(60), java),
+                aluno("Eva", null, java)));
+
+        statistics.clear();
+        mockMvc.perform(get("/cursos/stats").with(jwt().authorities(new SimpleGrantedAuthority("ROLE_USER"))))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.length()").value(2))
+               .andExpect(jsonPath("$[0].cursoId").value(java.getId()))
+               .andExpect(jsonPath("$[0].alunos").value(5))
+               .andExpect(jsonPath("$[0].horasAluno").value(200))
+               .andExpect(jsonPath("$[0].idades.menosDe18").value(1))
+               .andExpect(jsonPath("$[0].idades.de18a24").value(1))
+               .andExpect(jsonPath("$[0].idades.de25a34").value(1))
+               .andExpect(jsonPath("$[0].idades.de35a49").value(0))
+               .andExpect(jsonPath("$[0].idades.aPartirDe50").value(1))
+               .andExpect(jsonPath("$[0].idades.semDataDeNascimento").value(1))
+               .andExpect(jsonPath("$[1].cursoId").value(vazio.getId()))
+               .andExpect(jsonPath("$[1].alunos").value(0))
+               .andExpect(jsonPath("$[1].horasAluno").value(0))
+               .andExpect(jsonPath("$[1].idades.semDataDeNascimento").value(0));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    private static Aluno aluno(String nome, LocalDate nascimento, Curso curso) {
+        return new Aluno(null, nome, null, nascimento == null ? null : Date.valueOf(nascimento), curso);
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.avaliacao;
+
+import com.example.avaliacao.model.Aluno;
+import com.example.avaliacao.model.Curso;
+import com.example.avaliacao.repository.AlunoRepository;
+import com.example.avaliacao.repository.CursoRepository;
+import com.example.avaliacao.service.AlunoService;
+import com.example.avaliacao.service.CursoService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Exclusões em SQL direto, como tombstones: o número de comandos não depende de quantos alunos o curso tem
+@SpringBootTest
+@AutoConfigureMockMvc
+class ExclusaoTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CursoService cursoService;
+
+    @Autowired
+    private AlunoService alunoService;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void limpar() {
+        alunoRepository.deleteAllInBatch();
+        cursoRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testExcluirCursoComAlunosUsaComandosFixos() {
+        Curso curso = cursoRepository.save(new Curso(null, "Java", "Descrição", 40, new ArrayList<>()));
+        List<Aluno> alunos = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            alunos.add(new Aluno(null, "Aluno " + i, null, null, curso));
+        }
+        alunoRepository.saveAll(alunos);
+
+        statistics.clear();
+        assertTrue(cursoService.deletarCurso(curso.getId()));
+
+        // Consulta de existência, dois UPDATEs de tombstone e dois INSERTs no outbox (um INSERT ... SELECT para todos
+        // os alunos, outro para o curso)
+        assertEquals(5, statistics.getPrepareStatementCount());
+        assertEquals(0, alunoRepository.count());
+
+        // Curso inexistente: só a consulta de existência, sem outbox
+        statistics.clear();
+        assertFalse(cursoService.deletarCurso(curso.getId()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testExcluirAlunoInexistente() {
+        statistics.clear();
+        assertFalse(alunoService.deletarAluno(999999L));
+        // Só o UPDATE de tombstone, que não acha a linha
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testExcluirAlunosEmLote() throws Exception {
+        Long primeiro = alunoRepository.save(new Aluno(null, "Ana", null, null, null)).getId();
+        Long segundo = alunoRepository.save(new Aluno(null, "Bruno", null, null, null)).getId();
+        alunoRepository.save(new Aluno(null, "Carla", null, null, null));
+
+        mockMvc.perform(delete("/alunos")
+                        .param("ids", primeiro + "," + segundo + ",999999")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN"))))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.solicitados").value(3))
+               .andExpect(jsonPath("$.excluidos").value(2));
+
+        assertEquals(1, alunoRepository.count());
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.avaliacao;
+
+import com.example.avaliacao.model.Aluno;
+import com.example.avaliacao.repository.AlunoRepository;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Formatos binários: a página em CBOR e a listagem completa em CBOR Sequence trazem os mesmos dados do JSON
+@SpringBootTest
+@AutoConfigureMockMvc
+class FormatosBinariosTests {
+
+    private final CBORMapper cbor = new CBORMapper();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @AfterEach
+    void limpar() {
+        alunoRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testPaginaEmCbor() throws Exception {
+        alunoRepository.save(new Aluno(null, "Ana", "ana@exemplo.com", null, null));
+
+        MvcResult resultado = mockMvc.perform(get("/alunos")
+                        .accept("application/cbor")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_USER"))))
+               .andExpect(status().isOk())
+               .andExpect(content().contentType("application/cbor"))
+               .andReturn();
+
+        List<?> alunos = cbor.readValue(resultado.getResponse().getContentAsByteArray(), List.class);
+        assertEquals("Ana", ((Map<?, ?>) alunos.get(0)).get("nome"));
+        // A ETag forte é diferente da do JSON, porque os bytes são outros
+        assertTrue(resultado.getResponse().getHeader("ETag").endsWith("-cbor\""));
+    }
+
+    @Test
+    void testStreamingEmCborSequence() throws Exception {
+        alunoRepository.save(new Aluno(null, "Ana", "ana@exemplo.com", null, null));
+        alunoRepository.save(new Aluno(null, "Bruno", "bruno@exemplo.com", null, null));
+
+        MvcResult iniciado = mockMvc.perform(get("/alunos")
+                        .accept("application/cbor-seq")
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_USER"))))
+               .andExpect(request().asyncStarted())
+               .andReturn();
+        byte[] corpo = mockMvc.perform(asyncDispatch(iniciado))
+               .andExpect(status().isOk())
+               .andExpect(content().contentType("application/cbor-seq"))
+               .andReturn().getResponse().getContentAsByteArray();
+
+        try (MappingIterator<Map<?, ?>> alunos = cbor.readerFor(Map.class).readValues(corpo)) {
+            List<Map<?, ?>> lidos = alunos.readAll();
+            assertEquals(2, lidos.size());
+            assertEquals("Bruno", lidos.get(1).get("nome"));
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.avaliacao;
+
+import com.example.avaliacao.model.Aluno;
+import com.example.avaliacao.model.Curso;
+import com.example.avaliacao.repository.AlunoRepository;
+import com.example.avaliacao.repository.CursoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// GET condicional: ETag por versão ou conteúdo, 304 sem corpo enquanto nada muda e Cache-Control por endpoint
+@SpringBootTest
+@AutoConfigureMockMvc
+class GetCondicionalTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @AfterEach
+    void limpar() {
+        alunoRepository.deleteAllInBatch();
+        cursoRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testAlunoSemMudancaResponde304() throws Exception {
+        Aluno aluno = alunoRepository.save(new Aluno(null, "Ana", "ana@exemplo.com", null, null));
+
+        mockMvc.perform(autenticado(get("/alunos/{id}", aluno.getId())))
+               .andExpect(status().isOk())
+               .andExpect(header().string("ETag", "\"0\""))
+               .andExpect(header().string("Cache-Control", "no-cache, private"));
+
+        mockMvc.perform(autenticado(get("/alunos/{id}", aluno.getId())).header("If-None-Match", "\"0\""))
+               .andExpect(status().isNotModified())
+               .andExpect(content().string(""));
+    }
+
+    @Test
+    void testEtagDoCursoMudaQuandoUmAlunoEntra() throws Exception {
+        Curso curso = cursoRepository.save(new Curso(null, "Java", "Descrição", 40, new ArrayList<>()));
+        String etag = mockMvc.perform(autenticado(get("/cursos/{id}", curso.getId())))
+               .andExpect(status().isOk())
+               .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(autenticado(get("/cursos/{id}", curso.getId())).header("If-None-Match", etag))
+               .andExpect(status().isNotModified());
+
+        // O curso em si não muda de versão, mas a lista de alunos no corpo muda
+        alunoRepository.save(new Aluno(null, "Ana", "ana@exemplo.com", null, curso));
+        String novaEtag = mockMvc.perform(autenticado(get("/cursos/{id}", curso.getId())).header("If-None-Match", etag))
+               .andExpect(status().isOk())
+               .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(etag, novaEtag);
+    }
+
+    // Um aluno sai e outro entra mantendo quantidade, maior id e soma das versões: a ETag ainda muda
+    @Test
+    void testEtagDoCursoMudaQuandoAlunosTrocamSemMudarOResumo() throws Exception {
+        Curso curso = cursoRepository.save(new Curso(null, "Java", "Descrição", 40, new ArrayList<>()));
+        Aluno sai = alunoRepository.save(new Aluno(null, "Ana", "ana@exemplo.com", null, curso));
+        Aluno entra = alunoRepository.save(new Aluno(null, "Bruno", "bruno@exemplo.com", null, null));
+        alunoRepository.save(new Aluno(null, "Carla", "carla@exemplo.com", null, curso));
+        sai.setNome("Ana Maria");
+        sai = alunoRepository.save(sai); // versão 1
+        String etag = mockMvc.perform(autenticado(get("/cursos/{id}", curso.getId())))
+               .andExpect(status().isOk())
+               .andReturn().getResponse().getHeader("ETag");
+
+        sai.setCurso(null);
+        alunoRepository.save(sai);
+        entra.setCurso(curso);
+        alunoRepository.save(entra); // versão 1, id entre os dois que ficaram no curso
+
+        mockMvc.perform(autenticado(get("/cursos/{id}", curso.getId())).header("If-None-Match", etag))
+               .andExpect(status().isOk());
+    }
+
+    @Test
+    void testListagemRevalidaPeloConteudo() throws Exception {
+        cursoRepository.save(new Curso(null, "Java", "Descrição", 40, new ArrayList<>()));
+        String etag = mockMvc.perform(autenticado(get("/cursos")))
+               .andExpect(status().isOk())
+               .andExpect(header().string("Cache-Control", "max-age=5, private"))
+               .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(autenticado(get("/cursos")).header("If-None-Match", etag))
+               .andExpect(status().isNotModified());
+
+        cursoRepository.save(new Curso(null, "Kotlin", "Descrição", 40, new ArrayList<>()));
+        mockMvc.perform(autenticado(get("/cursos")).header("If-None-Match", etag))
+               .andExpect(status().isOk());
+    }
+
+    private static MockHttpServletRequestBuilder autenticado(MockHttpServletRequestBuilder requisicao) {
+        return requisicao.with(jwt().authorities(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+}
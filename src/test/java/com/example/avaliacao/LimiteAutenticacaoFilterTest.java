@@ -0,0 +1,141 @@
+package com.example.avaliacao;
+
+import com.example.avaliacao.config.LimiteAutenticacaoFilter;
+import com.example.avaliacao.service.LimitadorDeTaxa;
+import com.example.avaliacao.service.PasswordHashService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class LimiteAutenticacaoFilterTest {
+
+    private SimpleMeterRegistry registry;
+    private PasswordHashService passwordHashService;
+    private LimiteAutenticacaoFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        passwordHashService = mock(PasswordHashService.class);
+        when(passwordHashService.capacidadeRestante()).thenReturn(64);
+        // Login: 3 por IP, 2 por usuário; validação: 2 por IP. Reposição lenta para não interferir no teste
+        filter = new LimiteAutenticacaoFilter(true, 3, 0.01, 2, 0.01, 2, 0.01, 1000, passwordHashService, registry);
+    }
+
+    // A reposição é contínua: sem fichas, a espera informada é exatamente o tempo até a próxima
+    @Test
+    void testLimitadorRepoeFichasComOTempo() {
+        AtomicLong agora = new AtomicLong();
+        LimitadorDeTaxa limitador = new LimitadorDeTaxa(2, 1, 100, agora::get);
+
+        assertEquals(0, limitador.tentar("a"));
+        assertEquals(0, limitador.tentar("a"));
+        assertEquals(TimeUnit.SECONDS.toNanos(1), limitador.tentar("a"));
+        assertEquals(0, limitador.tentar("b")); // Outra chave, outro balde
+
+        agora.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), limitador.tentar("a"));
+        agora.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertEquals(0, limitador.tentar("a"));
+    }
+
+    @Test
+    void testLoginAcimaDoLimitePorUsuarioRecebe429() throws Exception {
+        assertEquals(200, login("10.0.0.1", "admin").getStatus());
+        assertEquals(200, login("10.0.0.2", "ADMIN").getStatus());
+
+        // Terceira tentativa para o mesmo usuário, de outro IP e com outra caixa
+        MockHttpServletResponse response = login("10.0.0.3", " Admin ");
+        assertEquals(429, response.getStatus());
+        // Uma ficha a cada 100 s: o Retry-After é o tempo até a próxima, arredondado para cima
+        long retryAfter = Long.parseLong(response.getHeader("Retry-After"));
+        assertTrue(retryAfter > 90 && retryAfter <= 100, "Retry-After: " + retryAfter);
+        assertTrue(response.getContentAsString().contains("\"status\": 429"));
+
+        assertEquals(2, registry.get("autenticacao.admissao").tag("endpoint", "login").tag("resultado", "admitida").counter().count());
+        assertEquals(1, registry.get("autenticacao.admissao").tag("resultado", "limite-usuario").counter().count());
+    }
+
+    @Test
+    void testLoginAcimaDoLimitePorIpRecebe429() throws Exception {
+        assertEquals(200, login("10.0.0.1", "a").getStatus());
+        assertEquals(200, login("10.0.0.1", "b").getStatus());
+        assertEquals(200, login("10.0.0.1", "c").getStatus());
+
+        assertEquals(429, login("10.0.0.1", "d").getStatus());
+        assertEquals(200, login("10.0.0.2", "d").getStatus());
+        assertEquals(1, registry.get("autenticacao.admissao").tag("resultado", "limite-ip").counter().count());
+    }
+
+    // Com a fila do BCrypt cheia, o login é descartado antes de chegar ao controller
+    @Test
+    void testLoginComFilaCheiaRecebe503() throws Exception {
+        when(passwordHashService.capacidadeRestante()).thenReturn(0);
+        FilterChain chain = mock(FilterChain.class);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(requisicao("/auth/login", "10.0.0.1", "admin"), response, chain);
+
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        verify(chain, never()).doFilter(any(), any());
+        assertEquals(1, registry.get("autenticacao.admissao").tag("resultado", "sobrecarga").counter().count());
+    }
+
+    // O container entrega o caminho decodificado em getServletPath; a URI crua não pode escapar do limite
+    @Test
+    void testCaminhoCodificadoContaNoMesmoLimite() throws Exception {
+        assertEquals(200, login("10.0.0.1", "a").getStatus());
+        assertEquals(200, login("10.0.0.1", "b").getStatus());
+        assertEquals(200, login("10.0.0.1", "c").getStatus());
+
+        MockHttpServletRequest codificada = requisicao("/auth/login", "10.0.0.1", "d");
+        codificada.setRequestURI("/auth/%6Cogin");
+        assertEquals(429, executar(codificada).getStatus());
+    }
+
+    @Test
+    void testValidacaoTemLimiteProprioEOutrasRotasPassamDireto() throws Exception {
+        assertEquals(200, executar(requisicao("/auth/validate", "10.0.0.1", null)).getStatus());
+        assertEquals(200, executar(requisicao("/auth/validate", "10.0.0.1", null)).getStatus());
+        assertEquals(429, executar(requisicao("/auth/validate", "10.0.0.1", null)).getStatus());
+
+        // O limite da validação não consome as fichas do login
+        assertEquals(200, login("10.0.0.1", "admin").getStatus());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(200, executar(requisicao("/alunos", "10.0.0.1", null)).getStatus());
+        }
+        assertEquals(1, registry.get("autenticacao.admissao").tag("endpoint", "validate").tag("resultado", "limite-ip").counter().count());
+    }
+
+    private MockHttpServletResponse login(String ip, String username) throws Exception {
+        return executar(requisicao("/auth/login", ip, username));
+    }
+
+    private MockHttpServletResponse executar(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> ((MockHttpServletResponse) res).setStatus(200));
+        return response;
+    }
+
+    private static MockHttpServletRequest requisicao(String uri, String ip, String username) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        // Como o DispatcherServlet é mapeado em "/", o container entrega o caminho inteiro em getServletPath
+        request.setServletPath(uri);
+        request.setRemoteAddr(ip);
+        if (username != null) {
+            request.addParameter("username", username);
+        }
+        return request;
+    }
+}
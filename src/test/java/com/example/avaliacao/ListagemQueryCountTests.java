@@ -0,0 +1,114 @@
+package com.example.avaliacao;
+
+import com.example.avaliacao.model.Aluno;
+import com.example.avaliacao.model.Curso;
+import com.example.avaliacao.repository.AlunoRepository;
+import com.example.avaliacao.repository.CursoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Garante que as listagens não fazem uma consulta extra por curso/aluno (N+1)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class ListagemQueryCountTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void limpar() {
+        alunoRepository.deleteAllInBatch();
+        cursoRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testListarAlunosUsaUmaConsultaIndependenteDoTamanho() throws Exception {
+        popular(2, 2);
+        long poucos = contarConsultas("/alunos");
+
+        popular(10, 4);
+        long muitos = contarConsultas("/alunos");
+
+        assertEquals(1, poucos);
+        assertEquals(poucos, muitos);
+    }
+
+    @Test
+    void testListarCursosUsaUmaConsultaIndependenteDoTamanho() throws Exception {
+        popular(2, 2);
+        long poucos = contarConsultas("/cursos");
+
+        popular(10, 4);
+        long muitos = contarConsultas("/cursos");
+
+        assertEquals(1, poucos);
+        assertEquals(poucos, muitos);
+    }
+
+    @Test
+    void testListarCursosComAlunosUsaDuasConsultasIndependenteDoTamanho() throws Exception {
+        popular(2, 2);
+        long poucos = contarConsultas("/cursos?expand=alunos");
+
+        popular(10, 4);
+        long muitos = contarConsultas("/cursos?expand=alunos");
+
+        assertEquals(2, poucos);
+        assertEquals(poucos, muitos);
+    }
+
+    private long contarConsultas(String url) throws Exception {
+        statistics.clear();
+        mockMvc.perform(get(url).with(jwt().authorities(new SimpleGrantedAuthority("ROLE_USER"))))
+               .andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void popular(int cursos, int alunosPorCurso) {
+        for (int i = 0; i < cursos; i++) {
+            Curso curso = cursoRepository.save(new Curso(null, "Curso " + i, "Descrição", 40, new ArrayList<>()));
+            List<Aluno> alunos = new ArrayList<>();
+            for (int j = 0; j < alunosPorCurso; j++) {
+                Aluno aluno = new Aluno();
+                aluno.setNome("Aluno " + i + "-" + j);
+                aluno.setEmail("aluno" + i + "-" + j + "@exemplo.com");
+                aluno.setCurso(curso);
+                alunos.add(aluno);
+            }
+            alunoRepository.saveAll(alunos);
+        }
+    }
+}
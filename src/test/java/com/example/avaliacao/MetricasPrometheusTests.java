@@ -0,0 +1,51 @@
+package com.example.avaliacao;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// O /actuator/prometheus publica histogramas por endpoint/método de controller e as métricas próprias
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricasPrometheusTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testHistogramaPorMetodoDeController() throws Exception {
+        mockMvc.perform(get("/alunos").with(jwt().authorities(new SimpleGrantedAuthority("ROLE_USER"))))
+               .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+               .andExpect(status().isOk())
+               .andExpect(content().string(containsString("handler=\"AlunoController.listarAlunos\"")))
+               .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+               .andExpect(content().string(containsString("le=\"0.2\"")))
+               .andExpect(content().string(containsString("repositorio_linhas_count{")));
+    }
+
+    @Test
+    void testMetricasDeAutenticacao() throws Exception {
+        mockMvc.perform(post("/auth/login").param("username", "admin").param("password", "123456"))
+               .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+               .andExpect(status().isOk())
+               .andExpect(content().string(containsString("jwt_assinatura_seconds_bucket")))
+               .andExpect(content().string(containsString("senha_hash_seconds_bucket")))
+               .andExpect(content().string(containsString("senha_hash_espera_seconds_count")));
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.avaliacao;
+
+import com.example.avaliacao.dto.EventoAlteracao;
+import com.example.avaliacao.model.Aluno;
+import com.example.avaliacao.model.Curso;
+import com.example.avaliacao.repository.AlunoRepository;
+import com.example.avaliacao.repository.CursoRepository;
+import com.example.avaliacao.repository.EventoOutboxRepository;
+import com.example.avaliacao.service.AlunoService;
+import com.example.avaliacao.service.CursoService;
+import com.example.avaliacao.service.MemoriaDestinoAlteracoes;
+import com.example.avaliacao.service.OutboxRelay;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Outbox: eventos gravados na transação de cada alteração, numerados e publicados pelo relay, lidos por GET /changes
+@SpringBootTest
+@AutoConfigureMockMvc
+class OutboxTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AlunoService alunoService;
+
+    @Autowired
+    private CursoService cursoService;
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @Autowired
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Autowired
+    private MemoriaDestinoAlteracoes destino;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @AfterEach
+    void limpar() {
+        alunoRepository.deleteAllInBatch();
+        cursoRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testAlteracoesPublicadasEmOrdemELidasPeloFeed() throws Exception {
+        long inicio = eventoOutboxRepository.ultimaPosicao();
+        Curso curso = cursoService.salvarCurso(new Curso(null, "Java", "Descrição", 40, new ArrayList<>()));
+        Aluno aluno = alunoService.salvarAluno(new Aluno(null, "Ana", "ana@email.com", null, curso));
+        alunoService.atualizarAluno(aluno.getId(), new Aluno(null, "Ana Maria", "ana@email.com", null, curso), null);
+        // Sem mudança: nem UPDATE nem evento
+        alunoService.atualizarAluno(aluno.getId(), new Aluno(null, "Ana Maria", "ana@email.com", null, curso), null);
+        assertTrue(cursoService.deletarCurso(curso.getId()));
+
+        // O agendamento do relay fica desligado nos testes; o ciclo roda aqui, no contexto deste teste
+        relay.publicarPendentes();
+        Set<String> registros = Set.of("CURSO " + curso.getId(), "ALUNO " + aluno.getId());
+        assertEquals(List.of("CURSO CRIADO", "ALUNO CRIADO", "ALUNO ATUALIZADO", "ALUNO EXCLUIDO", "CURSO EXCLUIDO"),
+                publicados(inicio, registros).stream().map(e -> e.entidade() + " " + e.operacao()).toList());
+
+        // Posições consecutivas: nada de outras gravações no meio
+        List<EventoAlteracao> publicados = publicados(inicio, registros);
+        for (int i = 1; i < publicados.size(); i++) {
+            assertEquals(publicados.get(i - 1).posicao() + 1, publicados.get(i).posicao());
+        }
+
+        long primeira = publicados.get(0).posicao();
+        mockMvc.perform(get("/changes").param("since", Long.toString(primeira)).param("size", "2").with(usuario()))
+               .andExpect(status().isOk())
+               .andExpect(header().string("X-Next-Cursor", Long.toString(primeira + 2)))
+               .andExpect(jsonPath("$[*].operacao", contains("CRIADO", "ATUALIZADO")))
+               .andExpect(jsonPath("$[0].entidade").value("ALUNO"))
+               .andExpect(jsonPath("$[0].entidadeId").value(aluno.getId()));
+    }
+
+    @Test
+    void testGravacaoRecusadaNaoGeraEvento() {
+        long antes = eventoOutboxRepository.count();
+        Curso inexistente = new Curso(999999L, null, null, null, null);
+        assertThrows(IllegalArgumentException.class,
+                () -> alunoService.salvarAluno(new Aluno(null, "Bruno", null, null, inexistente)));
+        assertFalse(alunoService.deletarAluno(999999L));
+        assertEquals(antes, eventoOutboxRepository.count());
+    }
+
+    @Test
+    void testSinceInvalido() throws Exception {
+        mockMvc.perform(get("/changes").param("since", "-1").with(usuario()))
+               .andExpect(status().isBadRequest());
+    }
+
+    // Só os eventos deste teste: o relay também publica o que outros testes gravaram pelos serviços
+    private List<EventoAlteracao> publicados(long depoisDe, Set<String> registros) {
+        return destino.eventos().stream()
+                .filter(e -> e.posicao() > depoisDe && registros.contains(e.entidade() + " " + e.entidadeId()))
+                .toList();
+    }
+
+    private static RequestPostProcessor usuario() {
+        return jwt().authorities(new SimpleGrantedAuthority("ROLE_USER"));
+    }
+}
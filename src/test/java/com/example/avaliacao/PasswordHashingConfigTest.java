@@ -0,0 +1,25 @@
+package com.example.avaliacao;
+
+import com.example.avaliacao.config.PasswordHashingConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingConfigTest {
+
+    // A calibração só recomenda: o hash sai sempre com o custo configurado
+    @Test
+    void testCustoConfiguradoMesmoComCalibracao() {
+        PasswordEncoder encoder = new PasswordHashingConfig().passwordEncoder(11, 10, true, 100);
+
+        String hash = encoder.encode("123456");
+        assertTrue(hash.startsWith("{bcrypt}$2a$11$"), hash);
+        assertTrue(encoder.matches("123456", hash));
+    }
+
+    @Test
+    void testCustoAbaixoDoMinimoImpedeASubida() {
+        assertThrows(IllegalStateException.class, () -> new PasswordHashingConfig().passwordEncoder(8, 10, false, 100));
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.avaliacao;
+
+import com.example.avaliacao.controller.AuthController;
+import com.example.avaliacao.repository.RefreshTokenRepository;
+import com.example.avaliacao.service.JwtService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Renovação de sessão sem senha: rotação a cada uso e revogação da família quando um token é reapresentado
+@SpringBootTest
+@AutoConfigureMockMvc
+class RefreshTokenTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testRenovacaoEmiteNovosTokensSemBCrypt() throws Exception {
+        String refreshToken = login("user", "password");
+        long hashesAntes = hashesDeSenha();
+
+        MvcResult renovacao = refresh(refreshToken).andExpect(status().isOk()).andReturn();
+        String accessToken = renovacao.getResponse().getContentAsString();
+        String novoRefreshToken = renovacao.getResponse().getHeader(AuthController.REFRESH_TOKEN_HEADER);
+
+        assertTrue(jwtService.validateToken(accessToken));
+        assertEquals("user", jwtService.getUsernameFromToken(accessToken));
+        assertNotNull(novoRefreshToken);
+        assertNotEquals(refreshToken, novoRefreshToken);
+        assertEquals(hashesAntes, hashesDeSenha());
+
+        // O novo também renova
+        refresh(novoRefreshToken).andExpect(status().isOk());
+    }
+
+    // Reusar um token já trocado indica vazamento: a sessão inteira cai, inclusive o token mais novo
+    @Test
+    void testReusoRevogaAFamilia() throws Exception {
+        String original = login("admin", "123456");
+        String rotacionado = refresh(original).andExpect(status().isOk()).andReturn()
+                .getResponse().getHeader(AuthController.REFRESH_TOKEN_HEADER);
+
+        refresh(original).andExpect(status().isUnauthorized());
+        refresh(rotacionado).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testRevogacaoEncerraSessaoEGuardaSoOHash() throws Exception {
+        String refreshToken = login("user", "password");
+
+        // Na tabela só existe o SHA-256 (32 bytes), nunca o token
+        assertTrue(refreshTokenRepository.findAll().stream().allMatch(token -> token.getHash().length == 32));
+
+        mockMvc.perform(post("/auth/revoke").param("refreshToken", refreshToken))
+                .andExpect(status().isNoContent());
+        refresh(refreshToken).andExpect(status().isUnauthorized());
+        refresh("token-inventado").andExpect(status().isUnauthorized());
+    }
+
+    private String login(String username, String password) throws Exception {
+        String refreshToken = mockMvc.perform(post("/auth/login").param("username", username).param("password", password))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(AuthController.REFRESH_TOKEN_HEADER);
+        assertNotNull(refreshToken);
+        return refreshToken;
+    }
+
+    private long hashesDeSenha() {
+        return meterRegistry.get("senha.hash").tag("operacao", "matches").timer().count();
+    }
+
+    private ResultActions refresh(String refreshToken) throws Exception {
+        return mockMvc.perform(post("/auth/refresh").param("refreshToken", refreshToken));
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.avaliacao;
+
+import com.example.avaliacao.dto.Sincronizacao;
+import com.example.avaliacao.model.Aluno;
+import com.example.avaliacao.model.Curso;
+import com.example.avaliacao.repository.AlunoRepository;
+import com.example.avaliacao.repository.CursoRepository;
+import com.example.avaliacao.repository.EventoOutboxRepository;
+import com.example.avaliacao.service.AlunoService;
+import com.example.avaliacao.service.CursoService;
+import com.example.avaliacao.service.OutboxRelay;
+import com.example.avaliacao.service.SincronizacaoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// GET /sync: só as linhas gravadas depois da revisão do cliente, com tombstones para as excluídas. As revisões vêm
+// do relay do outbox, que os testes chamam direto (o agendamento fica desligado)
+@SpringBootTest
+@AutoConfigureMockMvc
+class SincronizacaoTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AlunoService alunoService;
+
+    @Autowired
+    private CursoService cursoService;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Autowired
+    private SincronizacaoService sincronizacaoService;
+
+    @Autowired
+    private AlunoRepository alunoRepository;
+
+    @Autowired
+    private CursoRepository cursoRepository;
+
+    @AfterEach
+    void limpar() {
+        alunoRepository.deleteAllInBatch();
+        cursoRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testDeltaTrazAlteracoesETombstones() throws Exception {
+        Curso curso = cursoService.salvarCurso(new Curso(null, "Java", "Descrição", 40, new ArrayList<>()));
+        Aluno aluno = alunoService.salvarAluno(new Aluno(null, "Ana", "ana@email.com", null, curso));
+        Aluno excluido = alunoService.salvarAluno(new Aluno(null, "Bruno", "bruno@email.com", null, curso));
+        long desde = numerar();
+
+        alunoService.atualizarAluno(aluno.getId(), new Aluno(null, "Ana Maria", "ana@email.com", null, curso), null);
+        assertTrue(alunoService.deletarAluno(excluido.getId()));
+
+        // Antes do relay numerar os eventos, as alterações ainda não têm revisão nova
+        mockMvc.perform(get("/sync").param("since", Long.toString(desde)).with(usuario()))
+               .andExpect(jsonPath("$.revisao").value(desde))
+               .andExpect(jsonPath("$.alunos").isEmpty());
+
+        long revisao = numerar();
+        // O curso não mudou depois de 'desde'; o aluno excluído continua como tombstone
+        mockMvc.perform(get("/sync").param("since", Long.toString(desde)).with(usuario()))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.revisao").value(revisao))
+               .andExpect(jsonPath("$.cursos").isEmpty())
+               .andExpect(jsonPath("$.alunos[*].id", contains(aluno.getId().intValue(), excluido.getId().intValue())))
+               .andExpect(jsonPath("$.alunos[0].nome").value("Ana Maria"))
+               .andExpect(jsonPath("$.alunos[0].removido").value(false))
+               .andExpect(jsonPath("$.alunos[1].removido").value(true))
+               .andExpect(jsonPath("$.proximoCursor").isEmpty());
+
+        // Nada novo desde a última revisão
+        mockMvc.perform(get("/sync").param("since", Long.toString(revisao)).with(usuario()))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.cursos").isEmpty())
+               .andExpect(jsonPath("$.alunos").isEmpty());
+    }
+
+    @Test
+    void testPrimeiraSincronizacaoSemTombstones() throws Exception {
+        Curso curso = cursoService.salvarCurso(new Curso(null, "Java", "Descrição", 40, new ArrayList<>()));
+        Aluno aluno = alunoService.salvarAluno(new Aluno(null, "Ana", null, null, curso));
+        Aluno excluido = alunoService.salvarAluno(new Aluno(null, "Bruno", null, null, curso));
+        assertTrue(alunoService.deletarAluno(excluido.getId()));
+
+        mockMvc.perform(get("/sync").param("size", "500").with(usuario()))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.cursos[*].id", hasItem(curso.getId().intValue())))
+               .andExpect(jsonPath("$.alunos[*].id", hasItem(aluno.getId().intValue())))
+               .andExpect(jsonPath("$.alunos[*].id", not(hasItem(excluido.getId().intValue()))));
+    }
+
+    @Test
+    void testPaginasSeguemOrdemDasRevisoes() {
+        long desde = numerar();
+        Curso curso = cursoService.salvarCurso(new Curso(null, "Java", "Descrição", 40, new ArrayList<>()));
+        Aluno primeiro = alunoService.salvarAluno(new Aluno(null, "Ana", null, null, curso));
+        Aluno segundo = alunoService.salvarAluno(new Aluno(null, "Bruno", null, null, curso));
+        // A exclusão do curso registra primeiro os eventos dos alunos, por id, e depois o do curso
+        assertTrue(cursoService.deletarCurso(curso.getId()));
+        long revisao = numerar();
+
+        List<String> recebidos = new ArrayList<>();
+        String cursor = null;
+        Sincronizacao pagina;
+        do {
+            pagina = sincronizacaoService.sincronizar(desde, cursor, 1);
+            assertTrue(pagina.cursos().size() + pagina.alunos().size() <= 1);
+            pagina.cursos().forEach(c -> recebidos.add("CURSO " + c.id() + (c.removido() ? " removido" : "")));
+            pagina.alunos().forEach(a -> recebidos.add("ALUNO " + a.id() + (a.removido() ? " removido" : "")));
+            cursor = pagina.proximoCursor();
+        } while (cursor != null);
+
+        assertEquals(List.of("ALUNO " + primeiro.getId() + " removido",
+                "ALUNO " + segundo.getId() + " removido",
+                "CURSO " + curso.getId() + " removido"), recebidos);
+        assertEquals(revisao, pagina.revisao());
+    }
+
+    @Test
+    void testAlunoNaoVaiParaCursoExcluido() throws Exception {
+        Curso curso = cursoService.salvarCurso(new Curso(null, "Java", "Descrição", 40, new ArrayList<>()));
+        Curso excluido = cursoService.salvarCurso(new Curso(null, "Cobol", "Descrição", 40, new ArrayList<>()));
+        Aluno aluno = alunoService.salvarAluno(new Aluno(null, "Ana", "ana@email.com", null, curso));
+        assertTrue(cursoService.deletarCurso(excluido.getId()));
+
+        // O tombstone conta como curso inexistente: 400 e o aluno continua no curso de antes
+        mockMvc.perform(put("/alunos/{id}", aluno.getId())
+                        .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_ADMIN")))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"nome": "Ana", "email": "ana@email.com", "curso": {"id": %d}}
+                                """.formatted(excluido.getId())))
+               .andExpect(status().isBadRequest());
+
+        assertEquals(curso.getId(), alunoService.buscarAlunoPorId(aluno.getId()).orElseThrow().getCurso().getId());
+    }
+
+    @Test
+    void testParametrosInvalidos() throws Exception {
+        mockMvc.perform(get("/sync").param("since", "-1").with(usuario()))
+               .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/sync").param("since", "0").param("after", "abc").with(usuario()))
+               .andExpect(status().isBadRequest());
+    }
+
+    // Numera os eventos pendentes, como o ciclo do relay, e devolve a última revisão
+    private long numerar() {
+        relay.publicarPendentes();
+        return eventoOutboxRepository.ultimaPosicao();
+    }
+
+    private static RequestPostProcessor usuario() {
+        return jwt().authorities(new SimpleGrantedAuthority("ROLE_USER"));
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.avaliacao;
+
+import com.example.avaliacao.model.User;
+import com.example.avaliacao.repository.UserRepository;
+import com.example.avaliacao.service.UserLookupService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserLookupServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserLookupService userLookupService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        userLookupService = new UserLookupService(userRepository, 60_000, 60_000, 100, 2, new SimpleMeterRegistry());
+    }
+
+    // Usuário existente: só a primeira busca vai ao banco
+    @Test
+    void testUsuarioExistenteVemDoCache() {
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(new User(1L, "admin", "hash", "ADMIN")));
+
+        userLookupService.buscar("admin");
+        Optional<UserLookupService.CachedUser> usuario = userLookupService.buscar("admin");
+
+        assertEquals("ADMIN", usuario.orElseThrow().role());
+        verify(userRepository, times(1)).findByUsername("admin");
+    }
+
+    // Username inexistente também fica em cache (cache negativo)
+    @Test
+    void testUsuarioInexistenteVemDoCacheNegativo() {
+        when(userRepository.findByUsername("invasor")).thenReturn(Optional.empty());
+
+        assertTrue(userLookupService.buscar("invasor").isEmpty());
+        assertTrue(userLookupService.buscar("invasor").isEmpty());
+
+        verify(userRepository, times(1)).findByUsername("invasor");
+    }
+
+    // Após invalidar, a próxima busca relê o banco
+    @Test
+    void testInvalidarRecarregaDoBanco() {
+        when(userRepository.findByUsername("user"))
+                .thenReturn(Optional.of(new User(2L, "user", "hashAntigo", "USER")))
+                .thenReturn(Optional.of(new User(2L, "user", "hashNovo", "USER")));
+
+        userLookupService.buscar("user");
+        userLookupService.invalidar("user");
+
+        assertEquals("hashNovo", userLookupService.buscar("user").orElseThrow().password());
+    }
+
+    // Buscas simultâneas do mesmo username dividem uma única consulta ao banco
+    @Test
+    void testBuscasSimultaneasFazemUmaConsulta() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(userRepository.findByUsername("admin")).thenAnswer(invocacao -> {
+            liberar.await(5, TimeUnit.SECONDS);
+            return Optional.of(new User(1L, "admin", "hash", "ADMIN"));
+        });
+
+        CompletableFuture<Optional<UserLookupService.CachedUser>> primeira = CompletableFuture.supplyAsync(() -> userLookupService.buscar("admin"));
+        CompletableFuture<Optional<UserLookupService.CachedUser>> segunda = CompletableFuture.supplyAsync(() -> userLookupService.buscar("admin"));
+        verify(userRepository, timeout(5000)).findByUsername("admin");
+        liberar.countDown();
+
+        assertEquals("admin", primeira.get(5, TimeUnit.SECONDS).orElseThrow().username());
+        assertEquals("admin", segunda.get(5, TimeUnit.SECONDS).orElseThrow().username());
+        verify(userRepository, times(1)).findByUsername("admin");
+    }
+
+    // Uma invalidação com a consulta em andamento descarta o resultado antigo em vez de guardá-lo pelo TTL
+    @Test
+    void testInvalidarDuranteConsultaNaoGuardaValorAntigo() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(userRepository.findByUsername("user"))
+                .thenAnswer(invocacao -> {
+                    liberar.await(5, TimeUnit.SECONDS);
+                    return Optional.of(new User(2L, "user", "hashAntigo", "USER"));
+                })
+                .thenReturn(Optional.of(new User(2L, "user", "hashNovo", "USER")));
+
+        CompletableFuture<Optional<UserLookupService.CachedUser>> emAndamento = CompletableFuture.supplyAsync(() -> userLookupService.buscar("user"));
+        verify(userRepository, timeout(5000)).findByUsername("user");
+        userLookupService.invalidar("user");
+        liberar.countDown();
+        emAndamento.get(5, TimeUnit.SECONDS);
+
+        assertEquals("hashNovo", userLookupService.buscar("user").orElseThrow().password());
+    }
+}
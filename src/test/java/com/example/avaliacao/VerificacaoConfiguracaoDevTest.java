@@ -0,0 +1,44 @@
+package com.example.avaliacao;
+
+import com.example.avaliacao.config.VerificacaoConfiguracaoDev;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerificacaoConfiguracaoDevTest {
+
+    // Configuração padrão (application.yml): log de SQL, H2 em memória, ddl-auto update e console do H2
+    @Test
+    void testConfiguracaoDeDesenvolvimentoEhDetectada() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.jpa.show-sql", "true")
+                .withProperty("spring.jpa.properties.hibernate.format_sql", "true")
+                .withProperty("spring.jpa.hibernate.ddl-auto", "update")
+                .withProperty("spring.datasource.url", "jdbc:h2:mem:testdb")
+                .withProperty("spring.h2.console.enabled", "true")
+                .withProperty("spring.devtools.restart.enabled", "false");
+
+        List<String> ativas = new VerificacaoConfiguracaoDev(environment, new SimpleMeterRegistry()).encontrar();
+
+        assertEquals(5, ativas.size());
+        assertTrue(ativas.contains("spring.jpa.hibernate.ddl-auto=update"));
+    }
+
+    // Perfil prod: nada a avisar
+    @Test
+    void testConfiguracaoDeProducaoNaoGeraAviso() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.jpa.show-sql", "false")
+                .withProperty("spring.jpa.properties.hibernate.format_sql", "false")
+                .withProperty("spring.jpa.hibernate.ddl-auto", "validate")
+                .withProperty("spring.datasource.url", "jdbc:postgresql://localhost:5432/avaliacao")
+                .withProperty("spring.h2.console.enabled", "false")
+                .withProperty("spring.devtools.restart.enabled", "false");
+
+        assertTrue(new VerificacaoConfiguracaoDev(environment, new SimpleMeterRegistry()).encontrar().isEmpty());
+    }
+}
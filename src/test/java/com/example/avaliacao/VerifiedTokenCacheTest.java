@@ -0,0 +1,104 @@
+package com.example.avaliacao;
+
+import com.example.avaliacao.service.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private VerifiedTokenCache cache;
+    private AtomicInteger verificacoes;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new VerifiedTokenCache(100, meterRegistry);
+        verificacoes = new AtomicInteger();
+    }
+
+    // Um token repetido só é verificado uma vez
+    @Test
+    void testTokenRepetidoVemDoCache() {
+        Function<String, Jwt> verificador = contando(token -> jwt(token, Instant.now().plusSeconds(3600)));
+
+        Jwt primeiro = cache.obter("token-a", verificador);
+        Jwt segundo = cache.obter("token-a", verificador);
+
+        assertSame(primeiro, segundo);
+        assertEquals(1, verificacoes.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+        assertEquals("user", cache.buscar("token-a").getSubject());
+    }
+
+    // Token vencido (aceito pela tolerância do verificador) nunca é devolvido pelo cache, e cada chamada verifica uma vez só
+    @Test
+    void testTokenExpiradoNaoFicaNoCache() {
+        Function<String, Jwt> verificador = contando(token -> jwt(token, Instant.now().minusSeconds(30)));
+
+        cache.obter("token-b", verificador);
+        cache.obter("token-b", verificador);
+
+        assertEquals(2, verificacoes.get());
+        assertNull(cache.buscar("token-b"));
+    }
+
+    // Um 'nbf' ainda no futuro passa pela tolerância do resource server, mas não fica para o verificador estrito
+    @Test
+    void testTokenAindaSemVigorNaoFicaNoCache() {
+        Instant agora = Instant.now();
+        Function<String, Jwt> tolerante = contando(token -> Jwt.withTokenValue(token)
+                .header("alg", "HS256")
+                .subject("user")
+                .notBefore(agora.plusSeconds(30))
+                .expiresAt(agora.plusSeconds(3600))
+                .build());
+
+        cache.obter("token-d", tolerante);
+
+        assertNull(cache.buscar("token-d"));
+        assertThrows(BadJwtException.class, () -> cache.obter("token-d", token -> {
+            throw new BadJwtException("token ainda sem vigor");
+        }));
+    }
+
+    // Falha de verificação é propagada e não é guardada
+    @Test
+    void testFalhaDeVerificacaoNaoFicaNoCache() {
+        Function<String, Jwt> verificador = contando(token -> {
+            throw new BadJwtException("assinatura inválida");
+        });
+
+        assertThrows(BadJwtException.class, () -> cache.obter("token-c", verificador));
+        assertThrows(BadJwtException.class, () -> cache.obter("token-c", verificador));
+
+        assertEquals(2, verificacoes.get());
+        assertNull(cache.buscar("token-c"));
+    }
+
+    private Function<String, Jwt> contando(Function<String, Jwt> verificador) {
+        return token -> {
+            verificacoes.incrementAndGet();
+            return verificador.apply(token);
+        };
+    }
+
+    private static Jwt jwt(String token, Instant expiraEm) {
+        return Jwt.withTokenValue(token)
+                .header("alg", "HS256")
+                .subject("user")
+                .issuedAt(expiraEm.minusSeconds(7200))
+                .expiresAt(expiraEm)
+                .build();
+    }
+}